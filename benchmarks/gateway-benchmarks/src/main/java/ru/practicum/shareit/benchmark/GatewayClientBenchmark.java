@@ -0,0 +1,111 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.InFlightRequests;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@link BookingClient} over a canned in-memory server response, so only request building and
+ * response relaying are measured. {@code objectTree} is how the gateway relayed bodies before it switched
+ * to passing the server's bytes through: bind to a generic tree, then serialise it again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayClientBenchmark {
+
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final long USER_ID = 1L;
+
+    @Param({"0", "10", "100", "1000"})
+    private int bookings;
+
+    private BookingClient bookingClient;
+    private RestTemplate rest;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        byte[] body = bookingsJson(bookings).getBytes(StandardCharsets.UTF_8);
+        ClientHttpRequestFactory requestFactory = (uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(body.length);
+            request.setResponse(response);
+            return request;
+        };
+        ShareItServerClientFactory clientFactory = new ShareItServerClientFactory(SERVER_URL,
+                new HttpClientProperties(), new RestTemplateBuilder(), requestFactory, WebClient.builder(), null,
+                new ResponseCache(false, 0, Duration.ZERO), new InFlightRequests(true));
+        bookingClient = new BookingClient(clientFactory);
+        rest = new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + "/bookings"))
+                .requestFactory(() -> requestFactory)
+                .build();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> passthrough() {
+        return bookingClient.getBookings(USER_ID, BookingState.ALL, 0, 10, null).block();
+    }
+
+    @Benchmark
+    public byte[] objectTree() throws JsonProcessingException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", String.valueOf(USER_ID));
+        ResponseEntity<Object> response = rest.exchange("?state={state}&from={from}&size={size}", HttpMethod.GET,
+                new HttpEntity<>(headers), Object.class, Map.of("state", "ALL", "from", 0, "size", 10));
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    private static String bookingsJson(int count) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        StringBuilder json = new StringBuilder("[");
+        for (int id = 1; id <= count; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                    .append(",\"itemId\":").append(id)
+                    .append(",\"start\":\"").append(start.plusHours(id)).append(':').append("00\"")
+                    .append(",\"end\":\"").append(start.plusHours(id + 1)).append(':').append("00\"")
+                    .append(",\"booker\":{\"id\":2,\"name\":\"booker\",\"email\":\"booker@email.com\"}")
+                    .append(",\"item\":{\"id\":").append(id)
+                    .append(",\"name\":\"item ").append(id)
+                    .append("\",\"description\":\"description of item ").append(id)
+                    .append("\",\"available\":true,\"ownerId\":null,\"lastBooking\":null,\"nextBooking\":null")
+                    .append(",\"comments\":null,\"requestId\":0}")
+                    .append(",\"status\":\"APPROVED\"}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.function.Consumer;
+
+/**
+ * One gateway request of the mix, with an optional hook that records what it created in the {@link Fixture}.
+ */
+@Value
+@AllArgsConstructor
+class Call {
+
+    String method;
+
+    String path;
+
+    Long userId;
+
+    Object body;
+
+    Consumer<JsonNode> onSuccess;
+
+    static Call get(String path, Long userId) {
+        return new Call("GET", path, userId, null, null);
+    }
+
+    static Call post(String path, Long userId, Object body, Consumer<JsonNode> onSuccess) {
+        return new Call("POST", path, userId, body, onSuccess);
+    }
+
+    static Call patch(String path, Long userId, Object body) {
+        return new Call("PATCH", path, userId, body, null);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts of one endpoint, collected lock-free by every client and drained once per stage.
+ */
+class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder latencies = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    void recordResponse(long latencyNanos, boolean success) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * A request that got no response at all, e.g. a timeout or a refused connection.
+     */
+    void recordFailure() {
+        failures.increment();
+        errors.increment();
+    }
+
+    Interval drain() {
+        return new Interval(latencies.getIntervalHistogram(), errors.sumThenReset(), failures.sumThenReset());
+    }
+
+    static class Interval {
+
+        final Histogram latencies;
+        final long errors;
+        final long requests;
+
+        Interval(Histogram latencies, long errors, long failures) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.requests = latencies.getTotalCount() + failures;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids of everything the run created, shared by all clients so reads hit existing rows.
+ */
+class Fixture {
+
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final LocalDateTime firstBookingSlot = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    private final List<Long> users = new CopyOnWriteArrayList<>();
+    private final List<ItemRef> items = new CopyOnWriteArrayList<>();
+    private final List<BookingRef> bookings = new CopyOnWriteArrayList<>();
+    private final Queue<BookingRef> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final List<Long> requests = new CopyOnWriteArrayList<>();
+
+    String uniqueEmail() {
+        return "load-" + runId + "-" + sequence.incrementAndGet() + "@shareit.test";
+    }
+
+    /**
+     * Two-hour slots that never overlap, so approving one booking never rejects another.
+     */
+    LocalDateTime[] nextBookingSlot() {
+        LocalDateTime start = firstBookingSlot.plusHours(2 * sequence.incrementAndGet());
+        return new LocalDateTime[]{start, start.plusHours(1)};
+    }
+
+    void addUser(long id) {
+        users.add(id);
+    }
+
+    void addItem(long id, long ownerId) {
+        items.add(new ItemRef(id, ownerId));
+    }
+
+    void addBooking(long id, long bookerId, long ownerId) {
+        BookingRef booking = new BookingRef(id, bookerId, ownerId);
+        bookings.add(booking);
+        waitingBookings.add(booking);
+    }
+
+    void addRequest(long id) {
+        requests.add(id);
+    }
+
+    long randomUser() {
+        return random(users);
+    }
+
+    ItemRef randomItem() {
+        return random(items);
+    }
+
+    Optional<ItemRef> randomItemNotOwnedBy(long userId) {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            ItemRef item = random(items);
+            if (item.getOwnerId() != userId) {
+                return Optional.of(item);
+            }
+        }
+        return Optional.empty();
+    }
+
+    Optional<BookingRef> randomBooking() {
+        return bookings.isEmpty() ? Optional.empty() : Optional.of(random(bookings));
+    }
+
+    /**
+     * Hands each waiting booking to exactly one client, so it is approved once.
+     */
+    Optional<BookingRef> takeWaitingBooking() {
+        return Optional.ofNullable(waitingBookings.poll());
+    }
+
+    Optional<Long> randomRequest() {
+        return requests.isEmpty() ? Optional.empty() : Optional.of(random(requests));
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    @Value
+    static class ItemRef {
+        long id;
+        long ownerId;
+    }
+
+    @Value
+    static class BookingRef {
+        long id;
+        long bookerId;
+        long ownerId;
+    }
+}
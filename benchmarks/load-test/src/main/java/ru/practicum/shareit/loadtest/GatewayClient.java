@@ -0,0 +1,84 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+class GatewayClient {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final HttpClient httpClient;
+    private final String gatewayUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    GatewayClient(String gatewayUrl, Duration timeout) {
+        this.gatewayUrl = gatewayUrl.endsWith("/") ? gatewayUrl.substring(0, gatewayUrl.length() - 1) : gatewayUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    HttpResponse<byte[]> send(Call call) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(gatewayUrl + call.getPath()))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .method(call.getMethod(), body(call.getBody()));
+        if (call.getBody() != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (call.getUserId() != null) {
+            request.header(USER_HEADER, String.valueOf(call.getUserId()));
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    HttpResponse<byte[]> sendAndRecord(Call call) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(call);
+        record(call, response);
+        return response;
+    }
+
+    /**
+     * Feeds a successful response to the call's {@link Call#getOnSuccess()} hook, outside the timed send.
+     */
+    void record(Call call, HttpResponse<byte[]> response) {
+        if (isSuccess(response) && call.getOnSuccess() != null) {
+            call.getOnSuccess().accept(readTree(response.body()));
+        }
+    }
+
+    static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 400;
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialise request body " + body, e);
+        }
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a realistic user/item/booking/request mix through the gateway at increasing concurrency and reports
+ * throughput, latency percentiles and error rate per endpoint for every stage.
+ * <p>
+ * Start the stack with {@code docker-compose up --build}, then run
+ * {@code mvn -Pbenchmarks exec:exec -pl benchmarks/load-test -Dloadtest.args="--label blocking"}.
+ * To compare gateway transports, restart the stack with {@code SHAREIT_GATEWAY_TRANSPORT=reactive} and run
+ * again with {@code --label reactive}.
+ */
+public class LoadTest {
+
+    private final LoadTestOptions options;
+    private final GatewayClient client;
+    private final Fixture fixture = new Fixture();
+    private final Mix mix = Mix.standard();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.client = new GatewayClient(options.getGatewayUrl(), options.getTimeout());
+        mix.getEndpoints().forEach(endpoint -> stats.put(endpoint.getName(), new EndpointStats()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadTest(options).run();
+    }
+
+    void run() throws Exception {
+        System.out.printf("Seeding %s with %d users and %d items%n", options.getGatewayUrl(), options.getUsers(),
+                options.getUsers() * options.getItemsPerUser());
+        seed();
+
+        Stage firstStage = options.getStages().get(0);
+        System.out.printf("Warming up with %d clients for %s%n", firstStage.getConcurrency(), options.getWarmup());
+        runStage(new Stage(firstStage.getConcurrency(), options.getWarmup()));
+
+        List<StageReport> reports = new ArrayList<>();
+        for (Stage stage : options.getStages()) {
+            StageReport report = runStage(stage);
+            report.print(System.out);
+            reports.add(report);
+        }
+
+        if (options.getReport() != null) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("label", options.getLabel());
+            result.put("gateway", options.getGatewayUrl());
+            result.put("finishedAt", Instant.now().toString());
+            result.put("stages", reports);
+            Files.createDirectories(options.getReport().toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(options.getReport().toFile(), result);
+            System.out.printf("%nReport written to %s%n", options.getReport());
+        }
+    }
+
+    /**
+     * Creates the rows the mix reads through the same endpoints it writes to, one request at a time.
+     */
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < options.getUsers(); i++) {
+            seed(Mix.createUser(fixture));
+        }
+        for (int i = 0; i < options.getUsers(); i++) {
+            long userId = fixture.randomUser();
+            for (int j = 0; j < options.getItemsPerUser(); j++) {
+                seed(Mix.createItem(fixture, userId));
+            }
+            seed(Mix.createRequest(fixture, userId));
+        }
+        for (int i = 0; i < options.getUsers() * 2; i++) {
+            Call booking = Mix.createBooking(fixture, fixture.randomUser());
+            if (booking != null) {
+                seed(booking);
+            }
+        }
+    }
+
+    private void seed(Call call) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.sendAndRecord(call);
+        if (!GatewayClient.isSuccess(response)) {
+            throw new IllegalStateException(String.format("Seeding failed: %s %s answered %d %s", call.getMethod(),
+                    call.getPath(), response.statusCode(), new String(response.body())));
+        }
+    }
+
+    private StageReport runStage(Stage stage) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(stage.getConcurrency());
+        stats.values().forEach(EndpointStats::drain);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + stage.getDuration().toNanos();
+        for (int i = 0; i < stage.getConcurrency(); i++) {
+            clients.submit(() -> drive(deadline));
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(stage.getDuration().plus(options.getTimeout()).toMillis() + 1000,
+                TimeUnit.MILLISECONDS)) {
+            clients.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        Map<String, EndpointStats.Interval> intervals = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> intervals.put(endpoint, endpointStats.drain()));
+        return StageReport.of(stage, elapsed, intervals);
+    }
+
+    private void drive(long deadline) {
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            Mix.Endpoint endpoint = mix.pick();
+            Call call = endpoint.getCall().apply(fixture);
+            if (call == null) {
+                continue;
+            }
+            EndpointStats endpointStats = stats.get(endpoint.getName());
+            long startedAt = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(call);
+                endpointStats.recordResponse(System.nanoTime() - startedAt, GatewayClient.isSuccess(response));
+                client.record(call, response);
+            } catch (IOException e) {
+                endpointStats.recordFailure();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@Data
+class LoadTestOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Options:",
+            "  --gateway <url>          gateway to load (default http://localhost:8080)",
+            "  --stages <list>          concurrency ramp as clients:duration pairs (default 4:30s,16:30s,64:30s)",
+            "  --warmup <duration>      unreported warm-up at the first stage's concurrency (default 15s)",
+            "  --users <n>              users created before the run (default 50)",
+            "  --items-per-user <n>     items each seeded user owns (default 4)",
+            "  --timeout <duration>     connect and response timeout per request (default 10s)",
+            "  --label <text>           name of the run in the report, e.g. the gateway transport",
+            "  --report <file>          where to write the JSON report");
+
+    private String gatewayUrl = "http://localhost:8080";
+    private List<Stage> stages = Stage.parseAll("4:30s,16:30s,64:30s");
+    private Duration warmup = Duration.ofSeconds(15);
+    private int users = 50;
+    private int itemsPerUser = 4;
+    private Duration timeout = Duration.ofSeconds(10);
+    private String label = "default";
+    private Path report;
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--gateway":
+                    options.setGatewayUrl(value);
+                    break;
+                case "--stages":
+                    options.setStages(Stage.parseAll(value));
+                    break;
+                case "--warmup":
+                    options.setWarmup(Stage.parseDuration(value));
+                    break;
+                case "--users":
+                    options.setUsers(Integer.parseInt(value));
+                    break;
+                case "--items-per-user":
+                    options.setItemsPerUser(Integer.parseInt(value));
+                    break;
+                case "--timeout":
+                    options.setTimeout(Stage.parseDuration(value));
+                    break;
+                case "--label":
+                    options.setLabel(value);
+                    break;
+                case "--report":
+                    options.setReport(Path.of(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        if (options.getUsers() < 2) {
+            throw new IllegalArgumentException("--users must be at least 2, so bookers and owners differ");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Weighted traffic over the endpoints exercised by {@code postman/sprint.json}, read-heavy the way the
+ * service is used: people browse and search items far more often than they create or book them.
+ */
+class Mix {
+
+    private static final List<String> ITEM_NAMES = List.of("Дрель", "Отвертка", "Клей Момент", "Пила",
+            "Молоток", "Лестница", "Палатка", "Велосипед");
+    private static final List<String> SEARCH_TERMS = List.of("дрель", "аккумулятор", "клей", "пила",
+            "молот", "лестн", "палатка", "велосипед");
+
+    private final List<Endpoint> endpoints;
+    private final int totalWeight;
+
+    Mix(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+        this.totalWeight = endpoints.stream().mapToInt(Endpoint::getWeight).sum();
+    }
+
+    static Mix standard() {
+        return new Mix(List.of(
+                new Endpoint("POST /users", 1, Mix::createUser),
+                new Endpoint("GET /users", 2, fixture -> Call.get("/users?from=0&size=20", null)),
+                new Endpoint("GET /users/{id}", 8, fixture -> Call.get("/users/" + fixture.randomUser(), null)),
+                new Endpoint("PATCH /users/{id}", 2, fixture -> {
+                    long userId = fixture.randomUser();
+                    return Call.patch("/users/" + userId, userId, Map.of("name", "user " + userId));
+                }),
+                new Endpoint("POST /items", 3, fixture -> createItem(fixture, fixture.randomUser())),
+                new Endpoint("GET /items", 8, fixture -> Call.get("/items", fixture.randomItem().getOwnerId())),
+                new Endpoint("GET /items/{id}", 18, fixture -> {
+                    Fixture.ItemRef item = fixture.randomItem();
+                    boolean asOwner = ThreadLocalRandom.current().nextBoolean();
+                    return Call.get("/items/" + item.getId(), asOwner ? item.getOwnerId() : fixture.randomUser());
+                }),
+                new Endpoint("PATCH /items/{id}", 3, fixture -> {
+                    Fixture.ItemRef item = fixture.randomItem();
+                    return Call.patch("/items/" + item.getId(), item.getOwnerId(),
+                            Map.of("description", "Обновлено " + LocalDateTime.now()));
+                }),
+                new Endpoint("GET /items/search", 12, fixture -> Call.get("/items/search?from=0&size=20&text="
+                        + URLEncoder.encode(random(SEARCH_TERMS), StandardCharsets.UTF_8), fixture.randomUser())),
+                new Endpoint("POST /bookings", 5, fixture -> createBooking(fixture, fixture.randomUser())),
+                new Endpoint("PATCH /bookings/{id}", 3, fixture -> fixture.takeWaitingBooking()
+                        .map(booking -> Call.patch("/bookings/" + booking.getId() + "?approved=true",
+                                booking.getOwnerId(), null))
+                        .orElse(null)),
+                new Endpoint("GET /bookings/{id}", 8, fixture -> fixture.randomBooking()
+                        .map(booking -> Call.get("/bookings/" + booking.getId(), booking.getBookerId()))
+                        .orElse(null)),
+                new Endpoint("GET /bookings", 8, fixture -> fixture.randomBooking()
+                        .map(booking -> Call.get("/bookings?state=ALL&from=0&size=20", booking.getBookerId()))
+                        .orElse(null)),
+                new Endpoint("GET /bookings/owner", 6, fixture -> fixture.randomBooking()
+                        .map(booking -> Call.get("/bookings/owner?state=ALL&from=0&size=20", booking.getOwnerId()))
+                        .orElse(null)),
+                new Endpoint("POST /requests", 2, fixture -> createRequest(fixture, fixture.randomUser())),
+                new Endpoint("GET /requests", 4, fixture -> Call.get("/requests", fixture.randomUser())),
+                new Endpoint("GET /requests/all", 4, fixture -> Call.get("/requests/all?from=0&size=20",
+                        fixture.randomUser())),
+                new Endpoint("GET /requests/{id}", 3, fixture -> fixture.randomRequest()
+                        .map(requestId -> Call.get("/requests/" + requestId, fixture.randomUser()))
+                        .orElse(null))
+        ));
+    }
+
+    List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    Endpoint pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.getWeight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking");
+    }
+
+    static Call createUser(Fixture fixture) {
+        String email = fixture.uniqueEmail();
+        return Call.post("/users", null, Map.of("name", email.substring(0, email.indexOf('@')), "email", email),
+                user -> fixture.addUser(user.path("id").asLong()));
+    }
+
+    static Call createItem(Fixture fixture, long ownerId) {
+        String name = random(ITEM_NAMES);
+        return Call.post("/items", ownerId,
+                Map.of("name", name, "description", name + " в хорошем состоянии, аккумулятор в комплекте",
+                        "available", true),
+                item -> fixture.addItem(item.path("id").asLong(), ownerId));
+    }
+
+    static Call createBooking(Fixture fixture, long bookerId) {
+        return fixture.randomItemNotOwnedBy(bookerId)
+                .map(item -> {
+                    LocalDateTime[] slot = fixture.nextBookingSlot();
+                    return Call.post("/bookings", bookerId,
+                            Map.of("itemId", item.getId(), "start", slot[0].toString(), "end", slot[1].toString()),
+                            booking -> fixture.addBooking(booking.path("id").asLong(), bookerId, item.getOwnerId()));
+                })
+                .orElse(null);
+    }
+
+    static Call createRequest(Fixture fixture, long requesterId) {
+        return Call.post("/requests", requesterId, Map.of("description", "Нужна " + random(ITEM_NAMES)),
+                request -> fixture.addRequest(request.path("id").asLong()));
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    /**
+     * A named endpoint and how to build its next call; {@code call} returns {@code null} when the fixture
+     * has nothing suitable yet, e.g. no booking waiting for approval.
+     */
+    @Value
+    static class Endpoint {
+        String name;
+        int weight;
+        Function<Fixture, Call> call;
+    }
+}
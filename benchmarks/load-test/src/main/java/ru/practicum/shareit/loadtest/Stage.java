@@ -0,0 +1,42 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * A step of the concurrency ramp: this many clients sending back-to-back requests for this long.
+ */
+@Value
+class Stage {
+
+    int concurrency;
+
+    Duration duration;
+
+    /**
+     * Parses {@code 8:30s,32:30s,64:1m}.
+     */
+    static List<Stage> parseAll(String stages) {
+        return Arrays.stream(stages.split(","))
+                .map(String::trim)
+                .map(Stage::parse)
+                .collect(Collectors.toList());
+    }
+
+    static Stage parse(String stage) {
+        String[] parts = stage.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Stage must look like <clients>:<duration>, got " + stage);
+        }
+        return new Stage(Integer.parseInt(parts[0]), parseDuration(parts[1]));
+    }
+
+    static Duration parseDuration(String duration) {
+        return Duration.parse("PT" + duration.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Value
+class StageReport {
+
+    private static final String ROW_FORMAT = "%-22s %9s %9s %9s %9s %9s %9s %8s%n";
+
+    int concurrency;
+
+    double durationSeconds;
+
+    List<Row> endpoints;
+
+    Row total;
+
+    static StageReport of(Stage stage, Duration elapsed, Map<String, EndpointStats.Interval> intervals) {
+        double seconds = elapsed.toNanos() / 1e9;
+        List<Row> rows = new ArrayList<>();
+        Histogram allLatencies = new Histogram(3);
+        long allRequests = 0;
+        long allErrors = 0;
+        for (Map.Entry<String, EndpointStats.Interval> entry : intervals.entrySet()) {
+            EndpointStats.Interval interval = entry.getValue();
+            if (interval.requests == 0) {
+                continue;
+            }
+            rows.add(Row.of(entry.getKey(), interval.latencies, interval.requests, interval.errors, seconds));
+            allLatencies.add(interval.latencies);
+            allRequests += interval.requests;
+            allErrors += interval.errors;
+        }
+        return new StageReport(stage.getConcurrency(), seconds, rows,
+                Row.of("TOTAL", allLatencies, allRequests, allErrors, seconds));
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%d clients, %.1f s%n", concurrency, durationSeconds);
+        out.printf(ROW_FORMAT, "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        endpoints.forEach(row -> row.print(out));
+        total.print(out);
+    }
+
+    @Value
+    static class Row {
+
+        String endpoint;
+
+        long requests;
+
+        double throughput;
+
+        double p50Millis;
+
+        double p95Millis;
+
+        double p99Millis;
+
+        double maxMillis;
+
+        double errorRate;
+
+        static Row of(String endpoint, Histogram latencies, long requests, long errors, double seconds) {
+            return new Row(endpoint, requests, requests / seconds,
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(95)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getMaxValue()),
+                    requests == 0 ? 0 : (double) errors / requests);
+        }
+
+        void print(PrintStream out) {
+            out.printf(ROW_FORMAT, endpoint, requests, String.format("%.1f", throughput),
+                    String.format("%.2f", p50Millis), String.format("%.2f", p95Millis),
+                    String.format("%.2f", p99Millis), String.format("%.2f", maxMillis),
+                    String.format("%.2f%%", errorRate * 100));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.PageCursor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link BookingService#getUserBookings} against the embedded H2 database of the {@code test} profile,
+ * seeded with one booker holding {@link #BOOKINGS} bookings over items of several owners.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    private static final int USERS = 20;
+    private static final int BOOKINGS = 2000;
+    private static final long BOOKER_ID = 1L;
+
+    @Param({"10", "100"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private PageCursor middleOfHistory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN",
+                        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        bookingService = context.getBean(BookingService.class);
+
+        List<BookingDto> firstHalf = bookingService.getUserBookings(BOOKER_ID, State.ALL, 0, BOOKINGS / 2);
+        BookingDto last = firstHalf.get(firstHalf.size() - 1);
+        middleOfHistory = PageCursor.of(last.getStartInstant(), last.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> firstPage() {
+        return bookingService.getUserBookings(BOOKER_ID, State.ALL, 0, size);
+    }
+
+    @Benchmark
+    public List<BookingDto> offsetPageInTheMiddle() {
+        return bookingService.getUserBookings(BOOKER_ID, State.ALL, BOOKINGS / 2, size);
+    }
+
+    @Benchmark
+    public List<BookingDto> cursorPageInTheMiddle() {
+        return bookingService.getUserBookings(BOOKER_ID, State.ALL, middleOfHistory, size);
+    }
+
+    @Benchmark
+    public List<BookingDto> waitingBookings() {
+        return bookingService.getUserBookings(BOOKER_ID, State.WAITING, 0, size);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        for (int user = 1; user <= USERS; user++) {
+            jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                    user, "user" + user, "user" + user + "@email.com");
+        }
+        for (int booking = 1; booking <= BOOKINGS; booking++) {
+            long owner = booking % (USERS - 1) + 2;
+            jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) "
+                    + "VALUES (?, ?, 'description', TRUE, ?)", booking, "item" + booking, owner);
+            jdbcTemplate.update("INSERT INTO bookings (id, starts, ends, item_id, booker_id, status) "
+                            + "VALUES (?, DATEADD('HOUR', ?, CURRENT_TIMESTAMP), DATEADD('HOUR', ?, CURRENT_TIMESTAMP), ?, ?, ?)",
+                    booking, booking - BOOKINGS / 2, booking - BOOKINGS / 2 + 1, booking, BOOKER_ID,
+                    booking % 10 == 0 ? "WAITING" : "APPROVED");
+        }
+    }
+}
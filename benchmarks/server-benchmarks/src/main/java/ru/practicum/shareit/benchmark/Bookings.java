@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like the ones the services map, without touching a database.
+ */
+final class Bookings {
+
+    private Bookings() {
+    }
+
+    static List<Booking> of(int count) {
+        User owner = User.builder().id(1L).name("owner").email("owner@email.com").build();
+        User booker = User.builder().id(2L).name("booker").email("booker@email.com").build();
+        Instant now = Instant.now();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Item item = Item.builder()
+                    .id(id)
+                    .name("item " + id)
+                    .description("description of item " + id)
+                    .available(true)
+                    .owner(owner)
+                    .itemRequest(id % 2 == 0 ? ItemRequest.builder().id(id).build() : null)
+                    .build();
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.APPROVED)
+                    .start(now.plus(Duration.ofHours(id)))
+                    .end(now.plus(Duration.ofHours(id + 1)))
+                    .build());
+        }
+        return bookings;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
@@ -26,35 +27,39 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                              @PositiveOrZero(message = FROM_ERROR_MESSAGE)
-                                              @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive(message = SIZE_ERROR_MESSAGE)
-                                              @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                    @PositiveOrZero(message = FROM_ERROR_MESSAGE)
+                                                    @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                    @Positive(message = SIZE_ERROR_MESSAGE)
+                                                    @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                    @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsForOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                           @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                           @PositiveOrZero(message = FROM_ERROR_MESSAGE)
-                                                           @RequestParam(defaultValue = "0") Integer from,
-                                                           @Positive(message = SIZE_ERROR_MESSAGE)
+    public Mono<ResponseEntity<Object>> getBookingsForOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                                 @PositiveOrZero(message = FROM_ERROR_MESSAGE)
+                                                                 @RequestParam(defaultValue = "0") Integer from,
+                                                                 @Positive(message = SIZE_ERROR_MESSAGE)
 
-                                                           @RequestParam(defaultValue = "10") Integer size) {
+                                                                 @RequestParam(defaultValue = "10") Integer size,
+                                                                 @RequestParam(required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get bookings by owner with userId={} for his items with state {}, from={}, size={}", userId, stateParam, from, size);
-        return bookingClient.getBookingsForOwnersItems(userId, state, from, size);
+        log.info("Get bookings by owner with userId={} for his items with state {}, from={}, size={}, cursor={}",
+                userId, stateParam, from, size, cursor);
+        return bookingClient.getBookingsForOwnersItems(userId, state, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody @Valid BookItemRequestDto requestDto) {
         if (!requestDto.getEnd().isAfter(requestDto.getStart())) {
             log.warn("Дата окончания бронирования должна быть после даты начала");
             throw new ValidationException("Дата окончания бронирования должна быть после даты начала");
@@ -64,16 +69,16 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> patch(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                        @PathVariable("bookingId") Long bookingId,
-                                        @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> patch(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable("bookingId") Long bookingId,
+                                              @RequestParam Boolean approved) {
         log.info("Patching booking {}, userId={}, approved={}", bookingId, userId, approved);
         return bookingClient.patchBooking(userId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
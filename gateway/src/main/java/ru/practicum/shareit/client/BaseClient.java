@@ -2,116 +2,258 @@ package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
     protected final RestTemplate rest;
+    @Nullable
+    protected final WebClient webClient;
+    @Nullable
+    private final ResponseCache responseCache;
+    @Nullable
+    private final InFlightRequests inFlightRequests;
+    private final String resource;
+    private final Set<String> invalidatedResources;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null, null, "");
+    }
+
+    /**
+     * @param relatedResources API prefixes whose cached responses embed data that mutations through this
+     *                         client change, e.g. bookings shown on items
+     */
+    public BaseClient(ShareItServerClientFactory clientFactory, String apiPrefix, String... relatedResources) {
+        this(clientFactory.restTemplate(apiPrefix), clientFactory.webClient(apiPrefix),
+                clientFactory.responseCache(), clientFactory.inFlightRequests(), apiPrefix, relatedResources);
+    }
+
+    /**
+     * Requests go through {@code webClient} when it is set and through {@code rest} otherwise;
+     * NDJSON streams always use {@code rest}. Cached GETs and the mutations that invalidate them
+     * are grouped by {@code resource}; identical GETs in flight at the same time share one call.
+     */
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, @Nullable ResponseCache responseCache,
+                      @Nullable InFlightRequests inFlightRequests, String resource, String... relatedResources) {
         this.rest = rest;
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.inFlightRequests = inFlightRequests;
+        this.resource = resource;
+        this.invalidatedResources = Stream.concat(Stream.of(resource), Stream.of(relatedResources))
+                .collect(Collectors.toUnmodifiableSet());
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String ifNoneMatch = currentIfNoneMatch();
+        if (inFlightRequests == null) {
+            return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, ifNoneMatch);
+        }
+        return inFlightRequests.execute(new RequestKey(resource, path, parameters, userId, ifNoneMatch),
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, ifNoneMatch));
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path) {
+        return getCached(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path, long userId) {
+        return getCached(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (responseCache == null) {
+            return get(path, userId, parameters);
+        }
+        String ifNoneMatch = currentIfNoneMatch();
+        RequestKey key = new RequestKey(resource, path, parameters, userId, null);
+        return Mono.defer(() -> responseCache.get(key, () -> get(path, userId, parameters)))
+                .map(response -> notModifiedIfMatches(response, ifNoneMatch));
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    protected void stream(String path, Long userId, Map<String, Object> parameters, OutputStream outputStream) {
+        rest.execute(path, HttpMethod.GET, request -> {
+            request.getHeaders().addAll(defaultHeaders(userId));
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        }, response -> StreamUtils.copy(response.getBody(), outputStream), parameters);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return makeAndSendRequest(method, path, userId, parameters, body, null);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String ifNoneMatch) {
+        Mono<ResponseEntity<Object>> response = webClient != null
+                ? exchange(webClient, method, path, userId, parameters, body, ifNoneMatch)
+                : Mono.fromCallable(() -> exchange(method, path, userId, parameters, body, ifNoneMatch));
+        if (responseCache != null && method != HttpMethod.GET) {
+            return response.doFinally(signal -> responseCache.invalidate(invalidatedResources));
+        }
+        return response;
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String ifNoneMatch) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, ifNoneMatch));
+
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return passthrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return passthrough(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+    private <T> Mono<ResponseEntity<Object>> exchange(WebClient webClient, HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String ifNoneMatch) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId, ifNoneMatch)));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class)
+                .map(entity -> passthrough(entity.getStatusCode(), entity.getHeaders(), entity.getBody())));
+    }
+
+    /**
+     * Relays the server's status, end-to-end headers and raw body bytes without parsing the body.
+     */
+    private static ResponseEntity<Object> passthrough(HttpStatus status, @Nullable HttpHeaders headers,
+                                                      @Nullable byte[] body) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        if (headers != null) {
+            Set<String> connectionHeaders = headers.getConnection().stream()
+                    .map(name -> name.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            headers.forEach((name, values) -> {
+                String lowerCaseName = name.toLowerCase(Locale.ROOT);
+                if (!HOP_BY_HOP_HEADERS.contains(lowerCaseName) && !connectionHeaders.contains(lowerCaseName)) {
+                    responseHeaders.addAll(name, values);
+                }
+            });
         }
-        return headers;
+        return ResponseEntity.status(status).headers(responseHeaders).body(body);
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
+    /**
+     * Answers a cached response with 304 when the client already holds its ETag.
+     */
+    private static ResponseEntity<Object> notModifiedIfMatches(ResponseEntity<Object> response,
+                                                               @Nullable String ifNoneMatch) {
+        String etag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || etag == null || !response.getStatusCode().is2xxSuccessful()) {
             return response;
         }
+        boolean matches = Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+        return matches ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build() : response;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    /**
+     * The {@code If-None-Match} of the gateway request being handled on this thread, forwarded on GETs.
+     */
+    @Nullable
+    private static String currentIfNoneMatch() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
         }
+        return null;
+    }
 
-        return responseBuilder.build();
+    private HttpHeaders defaultHeaders(Long userId) {
+        return defaultHeaders(userId, null);
+    }
+
+    private HttpHeaders defaultHeaders(Long userId, @Nullable String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return headers;
     }
 }
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+
+    /**
+     * Blocking RestTemplate calls or non-blocking WebClient calls to the server.
+     */
+    private Transport transport = Transport.BLOCKING;
+
+    private int maxTotal = 200;
+
+    private int maxPerRoute = 100;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * How long a request may wait for a free pooled connection before failing.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    public enum Transport {
+        BLOCKING,
+        REACTIVE
+    }
+}
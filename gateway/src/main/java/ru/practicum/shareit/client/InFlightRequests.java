@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for GETs to the server: callers that ask for the same {@link RequestKey} while a call
+ * for it is still running share that call's response instead of sending their own.
+ */
+@Component
+public class InFlightRequests implements MeterBinder {
+
+    private final boolean enabled;
+    private final Map<RequestKey, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    public InFlightRequests(@Value("${shareit-server.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Mono<ResponseEntity<Object>> execute(RequestKey key, Supplier<Mono<ResponseEntity<Object>>> upstream) {
+        if (!enabled) {
+            return upstream.get();
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean leader = new AtomicBoolean();
+            Mono<ResponseEntity<Object>> shared = inFlight.computeIfAbsent(key, k -> {
+                leader.set(true);
+                return upstream.get().cache();
+            });
+            if (!leader.get()) {
+                coalescedCalls.incrementAndGet();
+                return shared;
+            }
+            upstreamCalls.incrementAndGet();
+            return shared.doFinally(signal -> inFlight.remove(key, shared));
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.requests", upstreamCalls, AtomicLong::get)
+                .description("GETs sent to the server")
+                .tag("result", "upstream")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.requests", coalescedCalls, AtomicLong::get)
+                .description("GETs answered by joining an identical call already in flight")
+                .tag("result", "coalesced")
+                .register(registry);
+        Gauge.builder("shareit.gateway.requests.in-flight", inFlight, Map::size)
+                .register(registry);
+    }
+}
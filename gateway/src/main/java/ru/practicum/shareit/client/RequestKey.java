@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Identity of a GET to the server: API prefix, path template with its parameters, the acting user and
+ * the client's {@code If-None-Match}, if any.
+ */
+@Data
+public class RequestKey {
+    private final String resource;
+    private final String path;
+    @Nullable
+    private final Map<String, Object> parameters;
+    @Nullable
+    private final Long userId;
+    @Nullable
+    private final String ifNoneMatch;
+}
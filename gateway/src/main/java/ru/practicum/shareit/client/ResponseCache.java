@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of successful server responses to idempotent GETs, scoped by API prefix so that
+ * a mutating call through the same client drops every response it may have changed.
+ */
+@Component
+public class ResponseCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<RequestKey, ResponseEntity<Object>> responses;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(@Value("${shareit-server.cache.enabled:false}") boolean enabled,
+                         @Value("${shareit-server.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${shareit-server.cache.ttl:PT2S}") Duration ttl) {
+        this.enabled = enabled;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached response or loads it. A response whose load overlapped an invalidation of its
+     * resource is returned but not stored, so a GET that read the server before a mutation cannot put
+     * the old data back after the mutation dropped it.
+     */
+    public Mono<ResponseEntity<Object>> get(RequestKey key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        ResponseEntity<Object> cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = generation(key.getResource());
+        return loader.get()
+                .doOnNext(response -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        responses.asMap().compute(key, (k, current) ->
+                                generation == generation(key.getResource()) ? response : current);
+                    }
+                });
+    }
+
+    public void invalidate(Set<String> resources) {
+        if (enabled) {
+            resources.forEach(resource -> generations.computeIfAbsent(resource, r -> new AtomicLong())
+                    .incrementAndGet());
+            responses.asMap().keySet().removeIf(key -> resources.contains(key.getResource()));
+        }
+    }
+
+    private long generation(String resource) {
+        AtomicLong generation = generations.get(resource);
+        return generation == null ? 0 : generation.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, "gatewayResponses");
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Component
+public class ShareItServerClientFactory {
+
+    private final String serverUrl;
+    private final HttpClientProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final WebClient.Builder webClientBuilder;
+    private final ClientHttpConnector connector;
+    private final ResponseCache responseCache;
+    private final InFlightRequests inFlightRequests;
+
+    public ShareItServerClientFactory(@Value("${shareit-server.url}") String serverUrl,
+                                      HttpClientProperties properties,
+                                      RestTemplateBuilder restTemplateBuilder,
+                                      ClientHttpRequestFactory shareItServerRequestFactory,
+                                      WebClient.Builder webClientBuilder,
+                                      ClientHttpConnector shareItServerConnector,
+                                      ResponseCache responseCache,
+                                      InFlightRequests inFlightRequests) {
+        this.serverUrl = serverUrl;
+        this.properties = properties;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.requestFactory = shareItServerRequestFactory;
+        this.webClientBuilder = webClientBuilder;
+        this.connector = shareItServerConnector;
+        this.responseCache = responseCache;
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    public RestTemplate restTemplate(String apiPrefix) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    /**
+     * WebClient for the reactive transport, or {@code null} when the gateway is configured to block.
+     */
+    @Nullable
+    public WebClient webClient(String apiPrefix) {
+        if (properties.getTransport() != HttpClientProperties.Transport.REACTIVE) {
+            return null;
+        }
+        return webClientBuilder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .clientConnector(connector)
+                .build();
+    }
+
+    public ResponseCache responseCache() {
+        return responseCache;
+    }
+
+    public InFlightRequests inFlightRequests() {
+        return inFlightRequests;
+    }
+}
@@ -2,9 +2,12 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validation.Validation;
@@ -28,7 +31,7 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> findAllByUserId(
+    public Mono<ResponseEntity<Object>> findAllByUserId(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero(message = FROM_ERROR_MESSAGE) Integer from,
             @RequestParam(defaultValue = "10") @Positive(message = SIZE_ERROR_MESSAGE) Integer size) {
@@ -37,13 +40,13 @@ public class ItemController {
     }
 
     @GetMapping("{itemId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @PathVariable Long itemId) {
         return itemClient.findItemById(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findByText(
+    public Mono<ResponseEntity<Object>> findByText(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam String text,
             @RequestParam(defaultValue = "0") @PositiveOrZero(message = FROM_ERROR_MESSAGE) Integer from,
@@ -51,18 +54,24 @@ public class ItemController {
         return itemClient.findItemByText(userId, text, from, size);
     }
 
+    @GetMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamByText(@RequestHeader("X-Sharer-User-Id") long userId,
+                                              @RequestParam String text) {
+        return outputStream -> itemClient.streamItemsByText(userId, text, outputStream);
+    }
+
     @PostMapping
     @Validated(Create.class)
-    public ResponseEntity<Object> add(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                      @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> add(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @Valid @RequestBody ItemDto itemDto) {
         return itemClient.addItem(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
     @Validated(Update.class)
-    public ResponseEntity<Object> patch(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                        @Valid @RequestBody ItemDto itemDto,
-                                        @PathVariable("itemId") Long itemId) {
+    public Mono<ResponseEntity<Object>> patch(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @Valid @RequestBody ItemDto itemDto,
+                                              @PathVariable("itemId") Long itemId) {
         if (itemDto.getName() != null) {
             Validation.checkNotBlank(itemDto.getName(), "Название");
         }
@@ -73,15 +82,15 @@ public class ItemController {
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable Long itemId) {
         return itemClient.deleteItem(userId, itemId);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @Valid @RequestBody CommentDto commentDto,
-                                             @PathVariable("itemId") Long itemId
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @Valid @RequestBody CommentDto commentDto,
+                                                   @PathVariable("itemId") Long itemId
     ) {
         return itemClient.addComment(userId, itemId, commentDto);
     }
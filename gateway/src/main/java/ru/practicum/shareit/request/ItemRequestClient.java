@@ -1,15 +1,16 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerClientFactory;
 import ru.practicum.shareit.request.dto.ItemRequestNewDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -17,32 +18,36 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ShareItServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> addRequest(Long userId, ItemRequestNewDto itemRequestNewDto) {
+    public Mono<ResponseEntity<Object>> addRequest(Long userId, ItemRequestNewDto itemRequestNewDto) {
         return post("", userId, itemRequestNewDto);
     }
 
-    public ResponseEntity<Object> findRequestsByUserId(Long userId) {
+    public Mono<ResponseEntity<Object>> findRequestsByUserId(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAllRequests(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> findAllRequests(long userId, Integer from, Integer size,
+                                                        @Nullable String cursor, @Nullable LocalDateTime since) {
+        StringBuilder path = new StringBuilder("/all?from={from}&size={size}");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            path.append("&cursor={cursor}");
+            parameters.put("cursor", cursor);
+        }
+        if (since != null) {
+            path.append("&since={since}");
+            parameters.put("since", since.toString());
+        }
+        return getCached(path.toString(), userId, parameters);
     }
 
-    public ResponseEntity<Object> findRequestById(long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> findRequestById(long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
@@ -1,15 +1,18 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestNewDto;
 import ru.practicum.shareit.validation.ValidationGroups;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -23,7 +26,7 @@ public class ItemRequestController {
 
     @PostMapping
     @Validated(ValidationGroups.Create.class)
-    public ResponseEntity<Object> addRequest(
+    public Mono<ResponseEntity<Object>> addRequest(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody ItemRequestNewDto itemRequestNewDto
     ) {
@@ -31,20 +34,22 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> findAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return requestClient.findRequestsByUserId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAll(
+    public Mono<ResponseEntity<Object>> findAll(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero(message = FROM_ERROR_MESSAGE) Integer from,
-            @RequestParam(defaultValue = "10") @Positive(message = SIZE_ERROR_MESSAGE) Integer size) {
-        return requestClient.findAllRequests(userId, from, size);
+            @RequestParam(defaultValue = "10") @Positive(message = SIZE_ERROR_MESSAGE) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return requestClient.findAllRequests(userId, from, size, cursor, since);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findById(
+    public Mono<ResponseEntity<Object>> findById(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long requestId) {
         return requestClient.findRequestById(userId, requestId);
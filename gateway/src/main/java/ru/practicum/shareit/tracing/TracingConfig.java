@@ -0,0 +1,33 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Writes each finished span to the log when {@code shareit.tracing.log-spans} is set, for local runs
+     * without a Zipkin server. The gateway only records the HTTP spans around the hop to the server, so
+     * Brave's own rendering of the span is enough here.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "shareit.tracing.log-spans", havingValue = "true")
+    public SpanHandler loggingSpanHandler() {
+        return new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                if (cause == Cause.FINISHED) {
+                    log.info("Span {}", span);
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -5,12 +5,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.validation.Validation;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static ru.practicum.shareit.validation.ValidationGroups.Create;
 import static ru.practicum.shareit.validation.ValidationGroups.Update;
 
@@ -19,29 +24,39 @@ import static ru.practicum.shareit.validation.ValidationGroups.Update;
 @Validated
 @RequiredArgsConstructor
 public class UserController {
+    private static final String FROM_ERROR_MESSAGE = "Индекс первого элемента не может быть отрицательным";
+    private static final String SIZE_ERROR_MESSAGE = "Количество элементов для отображения должно быть положительным";
+
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
-        return userClient.findUsers();
+    public Mono<ResponseEntity<Object>> findAll(@RequestParam(defaultValue = "0") @PositiveOrZero(message = FROM_ERROR_MESSAGE) Integer from,
+                                                @RequestParam(defaultValue = "10") @Positive(message = SIZE_ERROR_MESSAGE) Integer size,
+                                                @RequestParam(required = false) String cursor) {
+        return userClient.findUsers(from, size, cursor);
+    }
+
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody streamAll() {
+        return userClient::streamUsers;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findById(@PathVariable long id) {
+    public Mono<ResponseEntity<Object>> findById(@PathVariable long id) {
         return userClient.findUserById(id);
     }
 
     @PostMapping(consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     @Validated(Create.class)
-    public ResponseEntity<Object> add(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> add(@Valid @RequestBody UserDto userDto) {
         return userClient.addUser(userDto);
     }
 
     @PatchMapping(value = "/{id}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
     @Validated(Update.class)
-    public ResponseEntity<Object> patch(@Valid @RequestBody UserDto userDto,
-                                        @PathVariable("id") long id) {
+    public Mono<ResponseEntity<Object>> patch(@Valid @RequestBody UserDto userDto,
+                                              @PathVariable("id") long id) {
         if (userDto.getName() != null) {
             Validation.checkNotBlank(userDto.getName(), "Имя");
         }
@@ -52,7 +67,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> delete(@PathVariable long id) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable long id) {
         return userClient.deleteUser(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ConditionalGetTest {
+
+    private static final String SERVER_URL = "http://shareit-server";
+    private static final String ETAG = "\"v1\"";
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + "/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @Test
+    void testIfNoneMatchIsForwardedAndNotModifiedRelayed() {
+        BaseClient client = new BaseClient(rest, null, null, null, "/items");
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(eTag(ETAG)));
+
+        ResponseEntity<Object> response = withIfNoneMatch(ETAG, () -> client.get("/1", 1L).block());
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+    }
+
+    @Test
+    void testETagOfFullResponseIsRelayed() {
+        BaseClient client = new BaseClient(rest, null, null, null, "/items");
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(eTag(ETAG)));
+
+        ResponseEntity<Object> response = client.get("/1", 1L).block();
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+    }
+
+    @Test
+    void testCachedResponseAnswersMatchingIfNoneMatchLocally() {
+        ResponseCache responseCache = new ResponseCache(true, 100, Duration.ofMinutes(1));
+        BaseClient client = new BaseClient(rest, null, responseCache, null, "/items");
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(eTag(ETAG)));
+
+        client.getCached("/1", 1L).block();
+        ResponseEntity<Object> matching = withIfNoneMatch("\"v0\", " + ETAG,
+                () -> client.getCached("/1", 1L).block());
+        ResponseEntity<Object> stale = withIfNoneMatch("\"v0\"", () -> client.getCached("/1", 1L).block());
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_MODIFIED, matching.getStatusCode());
+        assertEquals(ETAG, matching.getHeaders().getETag());
+        assertNull(matching.getBody());
+        assertEquals(HttpStatus.OK, stale.getStatusCode());
+    }
+
+    @Test
+    void testNotModifiedFromServerIsNotCached() {
+        ResponseCache responseCache = new ResponseCache(true, 100, Duration.ofMinutes(1));
+        BaseClient client = new BaseClient(rest, null, responseCache, null, "/items");
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(eTag(ETAG)));
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(eTag(ETAG)));
+
+        ResponseEntity<Object> notModified = withIfNoneMatch(ETAG, () -> client.getCached("/1", 1L).block());
+        ResponseEntity<Object> full = client.getCached("/1", 1L).block();
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(HttpStatus.OK, full.getStatusCode());
+    }
+
+    /**
+     * Runs {@code call} as if handling a gateway request that carries {@code ifNoneMatch}.
+     */
+    private static ResponseEntity<Object> withIfNoneMatch(String ifNoneMatch,
+                                                          Supplier<ResponseEntity<Object>> call) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            return call.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static HttpHeaders eTag(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        return headers;
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class InFlightRequestsTest {
+
+    private static final String SERVER_URL = "http://shareit-server";
+    private static final int CALLERS = 4;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private MockRestServiceServer server;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        InFlightRequests inFlightRequests = new InFlightRequests(true);
+        inFlightRequests.bindTo(registry);
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + "/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new BaseClient(rest, null, null, inFlightRequests, "/items");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentIdenticalGetsShareOneCall() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(1);
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andRespond(held(arrived, withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON)));
+
+        List<Future<ResponseEntity<Object>>> responses = getConcurrently(1L, arrived);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> response : responses) {
+            assertEquals("{\"id\":1}", body(response.get(5, TimeUnit.SECONDS)));
+        }
+        server.verify();
+        assertEquals(1, requests("upstream"));
+        assertEquals(CALLERS - 1, requests("coalesced"));
+    }
+
+    @Test
+    void testFollowersReceiveLeaderError() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(1);
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andRespond(held(arrived, request -> {
+                    throw new IOException("Connection reset");
+                }));
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        List<Future<ResponseEntity<Object>>> responses = getConcurrently(1L, arrived);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> response : responses) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceAccessException.class, e.getCause());
+        }
+        assertEquals(HttpStatus.OK, client.get("/1", 1L).block().getStatusCode());
+        server.verify();
+    }
+
+    @Test
+    void testGetsOfDifferentUsersAreNotCoalesced() throws Exception {
+        CountDownLatch ownerArrived = new CountDownLatch(1);
+        CountDownLatch strangerArrived = new CountDownLatch(1);
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(held(ownerArrived, withSuccess("{\"owner\":true}", MediaType.APPLICATION_JSON)));
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(held(strangerArrived, withSuccess("{\"owner\":false}", MediaType.APPLICATION_JSON)));
+
+        Future<ResponseEntity<Object>> owner = executor.submit(() -> client.get("/1", 1L).block());
+        assertTrue(ownerArrived.await(5, TimeUnit.SECONDS));
+        Future<ResponseEntity<Object>> stranger = executor.submit(() -> client.get("/1", 2L).block());
+
+        assertTrue(strangerArrived.await(5, TimeUnit.SECONDS),
+                "Another user's GET must reach the server while the first is in flight");
+        release.countDown();
+        assertEquals("{\"owner\":true}", body(owner.get(5, TimeUnit.SECONDS)));
+        assertEquals("{\"owner\":false}", body(stranger.get(5, TimeUnit.SECONDS)));
+        assertEquals(0, requests("coalesced"));
+    }
+
+    /**
+     * Sends the first GET, waits until the server holds it, then sends the others and waits until each
+     * has joined the call in flight.
+     */
+    private List<Future<ResponseEntity<Object>>> getConcurrently(long userId, CountDownLatch arrived)
+            throws InterruptedException {
+        List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+        responses.add(executor.submit(() -> client.get("/1", userId).block()));
+        assertTrue(arrived.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            responses.add(executor.submit(() -> client.get("/1", userId).block()));
+        }
+        assertTrue(awaitRequests("coalesced", CALLERS - 1));
+        return responses;
+    }
+
+    /**
+     * Holds the server's response until the test releases it, so later callers find the call in flight.
+     */
+    private ResponseCreator held(CountDownLatch arrived, ResponseCreator response) {
+        return request -> {
+            arrived.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response.createResponse(request);
+        };
+    }
+
+    private boolean awaitRequests(String result, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests(result) < expected) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private double requests(String result) {
+        return registry.get("shareit.gateway.requests").tag("result", result).functionCounter().count();
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,200 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResponseCacheTest {
+
+    private static final String SERVER_URL = "http://shareit-server";
+
+    private ResponseCache responseCache;
+    private MockRestServiceServer itemServer;
+    private MockRestServiceServer bookingServer;
+    private MockRestServiceServer userServer;
+    private BaseClient itemClient;
+    private BaseClient bookingClient;
+    private BaseClient userClient;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(true, 100, Duration.ofMinutes(1));
+        RestTemplate itemRest = restTemplate("/items");
+        RestTemplate bookingRest = restTemplate("/bookings");
+        RestTemplate userRest = restTemplate("/users");
+        itemServer = MockRestServiceServer.bindTo(itemRest).build();
+        bookingServer = MockRestServiceServer.bindTo(bookingRest).build();
+        userServer = MockRestServiceServer.bindTo(userRest).build();
+        itemClient = new BaseClient(itemRest, null, responseCache, null, "/items", "/requests");
+        bookingClient = new BaseClient(bookingRest, null, responseCache, null, "/bookings", "/items");
+        userClient = new BaseClient(userRest, null, responseCache, null, "/users", "/items", "/requests");
+    }
+
+    @Test
+    void testRepeatedGetIsServedFromCache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        responseCache.bindTo(registry);
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> first = itemClient.getCached("/1", 1L).block();
+        ResponseEntity<Object> second = itemClient.getCached("/1", 1L).block();
+
+        itemServer.verify();
+        assertEquals("{\"id\":1}", body(first));
+        assertEquals("{\"id\":1}", body(second));
+        assertEquals(1, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void testCacheKeyIncludesUserId() {
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"owner\":true}", MediaType.APPLICATION_JSON));
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess("{\"owner\":false}", MediaType.APPLICATION_JSON));
+
+        itemClient.getCached("/1", 1L).block();
+        ResponseEntity<Object> stranger = itemClient.getCached("/1", 2L).block();
+        ResponseEntity<Object> owner = itemClient.getCached("/1", 1L).block();
+
+        itemServer.verify();
+        assertEquals("{\"owner\":true}", body(owner));
+        assertEquals("{\"owner\":false}", body(stranger));
+    }
+
+    @Test
+    void testWriteInvalidatesCachedResponsesOfSameResource() {
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"name\":\"drill\"}", MediaType.APPLICATION_JSON));
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess());
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"name\":\"saw\"}", MediaType.APPLICATION_JSON));
+
+        itemClient.getCached("/1", 1L).block();
+        itemClient.patch("/1", 1L, "{\"name\":\"saw\"}").block();
+        ResponseEntity<Object> updated = itemClient.getCached("/1", 1L).block();
+
+        itemServer.verify();
+        assertEquals("{\"name\":\"saw\"}", body(updated));
+    }
+
+    @Test
+    void testWriteInvalidatesRelatedResourcesOnly() {
+        itemServer.expect(times(3), requestTo(SERVER_URL + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        userServer.expect(once(), requestTo(SERVER_URL + "/users/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        bookingServer.expect(once(), requestTo(SERVER_URL + "/bookings/5?approved=true"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess());
+        userServer.expect(once(), requestTo(SERVER_URL + "/users/2"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess());
+
+        itemClient.getCached("/1", 1L).block();
+        userClient.getCached("/1", 1L).block();
+        bookingClient.patch("/5?approved=true", 1L).block();
+        itemClient.getCached("/1", 1L).block();
+        userClient.getCached("/1", 1L).block();
+        userClient.patch("/2", 2L, "{\"name\":\"Kate\"}").block();
+        itemClient.getCached("/1", 1L).block();
+
+        itemServer.verify();
+        bookingServer.verify();
+        userServer.verify();
+    }
+
+    @Test
+    void testGetInFlightDuringWriteIsNotCached() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(request -> {
+                    arrived.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess("{\"name\":\"drill\"}", MediaType.APPLICATION_JSON).createResponse(request);
+                });
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess());
+        itemServer.expect(once(), requestTo(SERVER_URL + "/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"name\":\"saw\"}", MediaType.APPLICATION_JSON));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponseEntity<Object>> stale = executor.submit(() -> itemClient.getCached("/1", 1L).block());
+            assertTrue(arrived.await(5, TimeUnit.SECONDS));
+            itemClient.patch("/1", 1L, "{\"name\":\"saw\"}").block();
+            release.countDown();
+            assertEquals("{\"name\":\"drill\"}", body(stale.get(5, TimeUnit.SECONDS)));
+        } finally {
+            executor.shutdownNow();
+        }
+        ResponseEntity<Object> updated = itemClient.getCached("/1", 1L).block();
+
+        itemServer.verify();
+        assertEquals("{\"name\":\"saw\"}", body(updated));
+    }
+
+    @Test
+    void testErrorResponsesAreNotCached() {
+        itemServer.expect(times(2), requestTo(SERVER_URL + "/items/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        itemClient.getCached("/99", 1L).block();
+        ResponseEntity<Object> response = itemClient.getCached("/99", 1L).block();
+
+        itemServer.verify();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private static RestTemplate restTemplate(String apiPrefix) {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL + apiPrefix));
+        return rest;
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+}
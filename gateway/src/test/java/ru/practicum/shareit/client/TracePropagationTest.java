@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit-server.url=http://shareit-server")
+@AutoConfigureMockMvc
+class TracePropagationTest {
+
+    private static final String TRACE_ID = "463ac35c9f6413ad48485a3953bb6124";
+    private static final String CALLER_SPAN_ID = "a2fb4a1d1a96d312";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemClient itemClient;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(itemClient.rest).build();
+    }
+
+    @Test
+    @SneakyThrows
+    void testIncomingTraceContinuesToServer() {
+        server.expect(requestTo("http://shareit-server/items/1"))
+                .andExpect(header("X-B3-TraceId", TRACE_ID))
+                .andExpect(header("X-B3-ParentSpanId", CALLER_SPAN_ID))
+                .andExpect(header("X-B3-SpanId", not(CALLER_SPAN_ID)))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        MvcResult result = mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1)
+                        .header("b3", TRACE_ID + "-" + CALLER_SPAN_ID + "-1"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        server.verify();
+    }
+}
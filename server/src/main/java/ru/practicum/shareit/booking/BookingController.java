@@ -3,10 +3,12 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.BadRequestException;
 
 import java.util.List;
@@ -39,19 +41,54 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> findUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(defaultValue = "ALL") String state,
-                                             @RequestParam(defaultValue = "0") Integer from,
-                                             @RequestParam(defaultValue = "20") Integer size) {
-        return bookingService.getUserBookings(userId, convertingState(state), from, size);
+    public ResponseEntity<List<BookingDto>> findUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(defaultValue = "ALL") String state,
+                                                             @RequestParam(defaultValue = "0") Integer from,
+                                                             @RequestParam(defaultValue = "20") Integer size,
+                                                             @RequestParam(required = false) String cursor) {
+        State stateEnum = convertingState(state);
+        checkPage(from, size);
+        List<BookingDto> bookings = cursor == null
+                ? bookingService.getUserBookings(userId, stateEnum, from, size)
+                : bookingService.getUserBookings(userId, stateEnum, PageCursor.decodeWithPosition(cursor), size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> findItemsBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam(defaultValue = "ALL") String state,
-                                              @RequestParam(defaultValue = "0") Integer from,
-                                              @RequestParam(defaultValue = "20") Integer size) {
-        return bookingService.getItemsBookings(userId, convertingState(state), from, size);
+    public ResponseEntity<List<BookingDto>> findItemsBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam(defaultValue = "0") Integer from,
+                                                              @RequestParam(defaultValue = "20") Integer size,
+                                                              @RequestParam(required = false) String cursor) {
+        State stateEnum = convertingState(state);
+        checkPage(from, size);
+        List<BookingDto> bookings = cursor == null
+                ? bookingService.getItemsBookings(userId, stateEnum, from, size)
+                : bookingService.getItemsBookings(userId, stateEnum, PageCursor.decodeWithPosition(cursor), size);
+        return withNextCursor(bookings, size);
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, Integer size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingDto last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(last.getStartInstant(), last.getId()).encode())
+                .body(bookings);
+    }
+
+    /**
+     * Rejects the page before it reaches the service, so the offset and cursor paths answer a bad
+     * {@code from} or {@code size} the same way instead of failing while building the page request.
+     */
+    private void checkPage(Integer from, Integer size) {
+        if (from < 0) {
+            throw new BadRequestException("Offset must not be negative: " + from);
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive: " + size);
+        }
     }
 
     private State convertingState(String state) {
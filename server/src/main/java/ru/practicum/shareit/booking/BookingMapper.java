@@ -22,6 +22,7 @@ public class BookingMapper {
         return BookingDto.builder()
                 .id(booking.getId())
                 .start(start)
+                .startInstant(booking.getStart())
                 .end(end)
                 .status(booking.getStatus())
                 .itemId(booking.getItem().getId())
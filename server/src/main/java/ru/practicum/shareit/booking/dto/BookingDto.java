@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -7,6 +8,7 @@ import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Data
@@ -20,6 +22,13 @@ public class BookingDto {
 
     private LocalDateTime start;
 
+    /**
+     * Exact start for the paging cursor: {@link #start} is zone-local and repeats during a DST fall-back hour.
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Instant startInstant;
+
     private LocalDateTime end;
 
     private UserDto booker;
@@ -8,11 +8,21 @@ import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    String BY_BOOKER = "SELECT b FROM Booking AS b WHERE b.booker.id = ?1 ";
+
+    String BY_OWNER = "SELECT b FROM Booking AS b WHERE b.item.owner.id = ?1 ";
+
+    String AFTER_CURSOR = "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ";
+
+    String SEEK_ORDER = "ORDER BY b.start DESC, b.id DESC";
+
     List<Booking> findByBooker_IdAndEndIsBefore(Long bookerId, Instant end, Pageable page);
 
     List<Booking> findByBooker_IdAndStartIsAfter(Long bookerId, Instant starts, Pageable page);
@@ -22,17 +32,22 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByBooker_IdAndStartIsBeforeAndEndIsAfter(Long bookerId, Instant starts,
                                                                Instant ends, Pageable page);
 
+    @Query(BY_OWNER + "AND b.end < ?2")
     List<Booking> findByItemOwnerIdAndEndIsBefore(Long bookerId, Instant ends, Pageable page);
 
+    @Query(BY_OWNER + "AND b.start > ?2")
     List<Booking> findByItemOwnerIdAndStartIsAfter(Long bookerId, Instant starts, Pageable page);
 
+    @Query(BY_OWNER + "AND b.status = ?2")
     List<Booking> findByItemOwnerIdAndStatus(Long bookerId, Status status, Pageable page);
 
+    @Query(BY_OWNER + "AND b.start < ?2 AND b.end > ?3")
     List<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, Instant starts,
                                                                  Instant ends, Pageable page);
 
     List<Booking> findByBooker_Id(Long bookerId, Pageable page);
 
+    @Query(BY_OWNER + "ORDER BY b.start DESC")
     List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable page);
 
     Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Long itemId, Status status,
@@ -41,17 +56,67 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(Long itemId, Status status,
                                                                                Instant now);
 
+    @Query(BY_BOOKER + AFTER_CURSOR + SEEK_ORDER)
+    List<Booking> findByBookerAfterCursor(Long bookerId, Instant cursorStart, Long cursorId, Pageable page);
+
+    @Query(BY_BOOKER + AFTER_CURSOR + "AND b.end < ?4 " + SEEK_ORDER)
+    List<Booking> findPastByBookerAfterCursor(Long bookerId, Instant cursorStart, Long cursorId,
+                                              Instant now, Pageable page);
+
+    @Query(BY_BOOKER + AFTER_CURSOR + "AND b.start > ?4 " + SEEK_ORDER)
+    List<Booking> findFutureByBookerAfterCursor(Long bookerId, Instant cursorStart, Long cursorId,
+                                                Instant now, Pageable page);
+
+    @Query(BY_BOOKER + AFTER_CURSOR + "AND b.start < ?4 AND b.end > ?4 " + SEEK_ORDER)
+    List<Booking> findCurrentByBookerAfterCursor(Long bookerId, Instant cursorStart, Long cursorId,
+                                                 Instant now, Pageable page);
+
+    @Query(BY_BOOKER + AFTER_CURSOR + "AND b.status = ?4 " + SEEK_ORDER)
+    List<Booking> findByBookerAndStatusAfterCursor(Long bookerId, Instant cursorStart, Long cursorId,
+                                                   Status status, Pageable page);
+
+    @Query(BY_OWNER + AFTER_CURSOR + SEEK_ORDER)
+    List<Booking> findByOwnerAfterCursor(Long ownerId, Instant cursorStart, Long cursorId, Pageable page);
+
+    @Query(BY_OWNER + AFTER_CURSOR + "AND b.end < ?4 " + SEEK_ORDER)
+    List<Booking> findPastByOwnerAfterCursor(Long ownerId, Instant cursorStart, Long cursorId,
+                                             Instant now, Pageable page);
+
+    @Query(BY_OWNER + AFTER_CURSOR + "AND b.start > ?4 " + SEEK_ORDER)
+    List<Booking> findFutureByOwnerAfterCursor(Long ownerId, Instant cursorStart, Long cursorId,
+                                               Instant now, Pageable page);
+
+    @Query(BY_OWNER + AFTER_CURSOR + "AND b.start < ?4 AND b.end > ?4 " + SEEK_ORDER)
+    List<Booking> findCurrentByOwnerAfterCursor(Long ownerId, Instant cursorStart, Long cursorId,
+                                                Instant now, Pageable page);
+
+    @Query(BY_OWNER + AFTER_CURSOR + "AND b.status = ?4 " + SEEK_ORDER)
+    List<Booking> findByOwnerAndStatusAfterCursor(Long ownerId, Instant cursorStart, Long cursorId,
+                                                  Status status, Pageable page);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, Status status, Instant end, Instant start);
+
     Optional<Booking> findFirstByItemIdAndBookerIdAndStatusAndEndBefore(Long itemId, Long bookerId, Status status,
                                                                         Instant now);
 
-    @Query(value = "SELECT * FROM bookings b JOIN items i ON i.id = b.item_id "
-            + "WHERE b.item_id = :itemId AND b.ends < :currentTime ORDER BY b.ends ASC LIMIT 1",
-            nativeQuery = true)
-    Optional<Booking> findLastBooking(Long itemId, Instant currentTime);
-
-    @Query(value = "SELECT * FROM bookings b JOIN items i ON i.id = b.item_id "
-            + "WHERE b.item_id = :itemId AND b.starts > :currentTime AND b.status != 'REJECTED' " +
-            "ORDER BY b.starts ASC LIMIT 1",
-            nativeQuery = true)
-    Optional<Booking> findNextBooking(Long itemId, Instant currentTime);
+    @Query("SELECT b FROM Booking AS b " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN ?1 AND b.end < ?2 " +
+            "AND b.end = (SELECT MIN(lb.end) FROM Booking AS lb WHERE lb.item = b.item AND lb.end < ?2) " +
+            "ORDER BY b.id ASC")
+    List<Booking> findLastBookings(Collection<Long> itemIds, Instant currentTime);
+
+    @Query("SELECT b FROM Booking AS b " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN ?1 AND b.start > ?2 AND b.status <> ?3 " +
+            "AND b.start = (SELECT MIN(nb.start) FROM Booking AS nb " +
+            "WHERE nb.item = b.item AND nb.start > ?2 AND nb.status <> ?3) " +
+            "ORDER BY b.id ASC")
+    List<Booking> findNextBookings(Collection<Long> itemIds, Instant currentTime, Status excludedStatus);
+
+    @Query("SELECT b FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 AND b.end >= ?2 " +
+            "AND b.end = (SELECT MIN(eb.end) FROM Booking AS eb WHERE eb.item = b.item AND eb.end >= ?2) " +
+            "ORDER BY b.id ASC")
+    List<Booking> findEndingBookings(Collection<Long> itemIds, Instant currentTime);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.common.PageCursor;
 
 import java.util.List;
 
@@ -14,5 +15,9 @@ public interface BookingService {
 
     List<BookingDto> getUserBookings(Long userId, State state, Integer from, Integer size);
 
+    List<BookingDto> getUserBookings(Long userId, State state, PageCursor cursor, Integer size);
+
     List<BookingDto> getItemsBookings(Long userId, State state, Integer from, Integer size);
+
+    List<BookingDto> getItemsBookings(Long userId, State state, PageCursor cursor, Integer size);
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,11 +13,15 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemSummaryService;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -34,11 +40,13 @@ import static ru.practicum.shareit.booking.enums.Status.*;
 @Transactional
 public class BookingServiceImpl implements BookingService {
 
-    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "start");
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "start", "id");
 
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final ItemSummaryService itemSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BookingDto create(Long userId, BookingDto bookingDto) {
@@ -55,14 +63,18 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwner().getId().equals(booking.getBooker().getId())) {
             throw new NotFoundException("The booking was not found because the user is the booking owner");
         }
+        checkNoApprovedOverlap(booking);
         booking.setStatus(WAITING);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        itemSummaryService.refresh(List.of(item.getId()));
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
+        return BookingMapper.toBookingDto(saved);
     }
 
     @Override
     public BookingDto approve(Long userId, Long bookingId, String approved) {
 
-        userService.getUserOrElseThrow(userId);
+        userService.checkUserExists(userId);
         Booking booking = getBookingOrElseThrow(bookingId);
 
         if (!Objects.equals(booking.getItem().getOwner().getId(), userId)) {
@@ -72,14 +84,20 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("The status has been confirmed by the owner before");
         }
 
+        boolean isApprove = Boolean.parseBoolean(approved);
+        if (isApprove) {
+            checkNoApprovedOverlap(booking);
+        }
+
         try {
-            boolean isApprove = Boolean.parseBoolean(approved);
             booking.setStatus(isApprove ? APPROVED : REJECTED);
 
             booking = bookingRepository.save(booking);
         } catch (Exception e) {
             throw new BadRequestException("Invalid approve parameter");
         }
+        itemSummaryService.refresh(List.of(booking.getItem().getId()));
+        eventPublisher.publishEvent(new ItemChangedEvent(booking.getItem().getId()));
         return BookingMapper.toBookingDto(booking);
     }
 
@@ -98,9 +116,9 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDto> getUserBookings(Long userId, State state, Integer from, Integer size) {
-        userService.getUserOrElseThrow(userId);
+        userService.checkUserExists(userId);
         List<Booking> bookings;
-        PageRequest page = PageRequest.of(from / size, size, DEFAULT_SORT);
+        Pageable page = OffsetPageRequest.of(from, size, DEFAULT_SORT);
         Instant time = Instant.now();
 
         switch (state) {
@@ -126,24 +144,50 @@ public class BookingServiceImpl implements BookingService {
                 break;
         }
 
-        List<BookingDto> result = new ArrayList<>();
+        return toBookingDtoList(bookings);
+    }
 
-        for (Booking booking : bookings) {
-            BookingDto bookingDto = BookingMapper.toBookingDto(booking);
-            bookingDto.setItem(ItemMapper.toItemDto(booking.getItem()));
-            bookingDto.setBooker(UserMapper.toUserDto(booking.getBooker()));
-            result.add(bookingDto);
+    @Override
+    public List<BookingDto> getUserBookings(Long userId, State state, PageCursor cursor, Integer size) {
+        userService.checkUserExists(userId);
+        List<Booking> bookings;
+        Pageable page = PageRequest.of(0, size);
+        Instant cursorStart = cursor.getPosition();
+        Long cursorId = cursor.getId();
+        Instant time = Instant.now();
+
+        switch (state) {
+            case PAST:
+                bookings = bookingRepository.findPastByBookerAfterCursor(userId, cursorStart, cursorId, time, page);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findFutureByBookerAfterCursor(userId, cursorStart, cursorId, time, page);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findCurrentByBookerAfterCursor(userId, cursorStart, cursorId, time, page);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findByBookerAndStatusAfterCursor(userId, cursorStart, cursorId,
+                        WAITING, page);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findByBookerAndStatusAfterCursor(userId, cursorStart, cursorId,
+                        REJECTED, page);
+                break;
+            default:
+                bookings = bookingRepository.findByBookerAfterCursor(userId, cursorStart, cursorId, page);
+                break;
         }
 
-        return result;
+        return toBookingDtoList(bookings);
     }
 
     @Override
     public List<BookingDto> getItemsBookings(Long userId, State state, Integer from, Integer size) {
 
-        userService.getUserOrElseThrow(userId);
+        userService.checkUserExists(userId);
         List<Booking> bookings;
-        PageRequest page = PageRequest.of(from / size, size, DEFAULT_SORT);
+        Pageable page = OffsetPageRequest.of(from, size, DEFAULT_SORT);
         Instant time = Instant.now();
 
         switch (state) {
@@ -168,6 +212,45 @@ public class BookingServiceImpl implements BookingService {
                 break;
         }
 
+        return toBookingDtoList(bookings);
+    }
+
+    @Override
+    public List<BookingDto> getItemsBookings(Long userId, State state, PageCursor cursor, Integer size) {
+        userService.checkUserExists(userId);
+        List<Booking> bookings;
+        Pageable page = PageRequest.of(0, size);
+        Instant cursorStart = cursor.getPosition();
+        Long cursorId = cursor.getId();
+        Instant time = Instant.now();
+
+        switch (state) {
+            case PAST:
+                bookings = bookingRepository.findPastByOwnerAfterCursor(userId, cursorStart, cursorId, time, page);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findFutureByOwnerAfterCursor(userId, cursorStart, cursorId, time, page);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findCurrentByOwnerAfterCursor(userId, cursorStart, cursorId, time, page);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findByOwnerAndStatusAfterCursor(userId, cursorStart, cursorId,
+                        WAITING, page);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findByOwnerAndStatusAfterCursor(userId, cursorStart, cursorId,
+                        REJECTED, page);
+                break;
+            default:
+                bookings = bookingRepository.findByOwnerAfterCursor(userId, cursorStart, cursorId, page);
+                break;
+        }
+
+        return toBookingDtoList(bookings);
+    }
+
+    private List<BookingDto> toBookingDtoList(List<Booking> bookings) {
         List<BookingDto> result = new ArrayList<>();
 
         for (Booking booking : bookings) {
@@ -180,6 +263,18 @@ public class BookingServiceImpl implements BookingService {
         return result;
     }
 
+    /**
+     * Holds the item's row lock from the check until commit, so two overlapping bookings of the same item
+     * cannot both pass it and be approved concurrently.
+     */
+    private void checkNoApprovedOverlap(Booking booking) {
+        itemService.lockItem(booking.getItem().getId());
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(booking.getItem().getId(),
+                APPROVED, booking.getEnd(), booking.getStart())) {
+            throw new BadRequestException("Item is already booked for the requested period");
+        }
+    }
+
     private Booking getBookingOrElseThrow(Long bookingId) {
         return bookingRepository
                 .findById(bookingId)
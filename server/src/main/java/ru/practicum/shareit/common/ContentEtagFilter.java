@@ -0,0 +1,24 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * Adds a strong content-hash ETag to item, booking and request reads and answers a matching
+ * {@code If-None-Match} with 304. NDJSON exports are left alone so they keep streaming.
+ */
+@Component
+public class ContentEtagFilter extends ShallowEtagHeaderFilter {
+
+    private static final List<String> PATHS = List.of("/items", "/bookings", "/requests");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.endsWith("/stream") || PATHS.stream().noneMatch(prefix -> path.equals(prefix)
+                || path.startsWith(prefix + "/"));
+    }
+}
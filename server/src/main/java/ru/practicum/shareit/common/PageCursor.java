@@ -0,0 +1,80 @@
+package ru.practicum.shareit.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position: the sort timestamp and id of the last row of a page. The timestamp is kept as an
+ * {@link Instant} and encoded as epoch seconds and nanos, so a cursor means the same row whatever the
+ * server's time zone and stays exact across a DST change.
+ */
+@Data
+@AllArgsConstructor(staticName = "of")
+public class PageCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    private final Instant position;
+
+    private final Long id;
+
+    /**
+     * Cursor for feeds ordered by id alone, without a timestamp position.
+     */
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    /**
+     * Cursor positioned after every row created at or before {@code since}, for ascending feeds.
+     */
+    public static PageCursor since(Instant since) {
+        return new PageCursor(since, Long.MAX_VALUE);
+    }
+
+    public String encode() {
+        String raw = position == null
+                ? String.valueOf(id)
+                : position.getEpochSecond() + SEPARATOR + position.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length == 1) {
+                return new PageCursor(null, Long.parseLong(parts[0]));
+            }
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            int nanos = Integer.parseInt(parts[1]);
+            if (nanos < 0 || nanos > 999_999_999) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return new PageCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), nanos), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Decodes a cursor for a feed ordered by timestamp, rejecting id-only cursors such as those of {@code /users}.
+     */
+    public static PageCursor decodeWithPosition(String cursor) {
+        PageCursor decoded = decode(cursor);
+        if (decoded.getPosition() == null) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.Data;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Instant;
+
+@Data
+public class ItemView {
+
+    private final Long ownerId;
+
+    private final ItemDto item;
+
+    private final Instant refreshAt;
+}
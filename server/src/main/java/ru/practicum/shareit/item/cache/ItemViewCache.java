@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Caches the assembled {@code GET /items/{id}} view per item and viewer role. Owner views expire
+ * when their next booking starts; all views of an item are evicted after a change to it commits.
+ */
+@Component
+public class ItemViewCache implements MeterBinder {
+
+    /**
+     * Eviction counters, striped by item id so they need no cleanup; items sharing a slot only skip
+     * storing a view now and then.
+     */
+    private static final int GENERATION_SLOTS = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+    private final Cache<Long, Long> owners;
+    private final Cache<ItemViewKey, ItemView> views;
+
+    public ItemViewCache(@Value("${shareit.cache.item-view.maximum-size:10000}") long maximumSize,
+                         @Value("${shareit.cache.item-view.max-ttl:PT10M}") Duration maxTtl) {
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new RefreshAtExpiry(maxTtl))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached view, loading it at most once per key at a time. A view whose load overlapped
+     * an eviction of the item is returned but not stored, so a load that read the item before a change
+     * committed cannot put the stale view back after the eviction.
+     */
+    public ItemDto get(Long itemId, Long userId, Supplier<ItemView> loader) {
+        Long ownerId = owners.getIfPresent(itemId);
+        if (ownerId != null) {
+            ItemView[] loaded = new ItemView[1];
+            ItemView view = views.get(new ItemViewKey(itemId, ownerId.equals(userId)), key -> {
+                long generation = generation(itemId);
+                loaded[0] = loader.get();
+                return generation == generation(itemId) ? loaded[0] : null;
+            });
+            return (view != null ? view : loaded[0]).getItem();
+        }
+        long generation = generation(itemId);
+        ItemView view = loader.get();
+        owners.put(itemId, view.getOwnerId());
+        views.asMap().computeIfAbsent(new ItemViewKey(itemId, Objects.equals(view.getOwnerId(), userId)),
+                key -> generation == generation(itemId) ? view : null);
+        return view.getItem();
+    }
+
+    public void evict(Long itemId) {
+        generations.incrementAndGet(slot(itemId));
+        views.invalidateAll(List.of(new ItemViewKey(itemId, true), new ItemViewKey(itemId, false)));
+    }
+
+    long generation(Long itemId) {
+        return generations.get(slot(itemId));
+    }
+
+    private static int slot(Long itemId) {
+        return Long.hashCode(itemId) & (GENERATION_SLOTS - 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        evict(event.getItemId());
+        owners.invalidate(event.getItemId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, views, "itemViews");
+    }
+
+    @Data
+    private static class ItemViewKey {
+
+        private final Long itemId;
+
+        private final boolean owner;
+    }
+
+    private static class RefreshAtExpiry implements Expiry<ItemViewKey, ItemView> {
+
+        private final long maxTtlNanos;
+
+        RefreshAtExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(ItemViewKey key, ItemView view, long currentTime) {
+            if (view.getRefreshAt() == null) {
+                return maxTtlNanos;
+            }
+            long untilRefresh = Duration.between(Instant.now(), view.getRefreshAt()).toNanos();
+            return Math.max(0, Math.min(maxTtlNanos, untilRefresh));
+        }
+
+        @Override
+        public long expireAfterUpdate(ItemViewKey key, ItemView view, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, view, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ItemViewKey key, ItemView view, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
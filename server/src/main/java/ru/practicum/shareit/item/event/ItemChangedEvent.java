@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.Data;
+
+@Data
+public class ItemChangedEvent {
+
+    private final Long itemId;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.Data;
+
+@Data
+public class ItemSavedEvent {
+
+    private final Long itemId;
+
+    private final String name;
+
+    private final String description;
+
+    private final Boolean available;
+
+    /**
+     * Whether the item was just created, so no listener holds state for it yet.
+     */
+    private final boolean created;
+}
@@ -23,7 +23,7 @@ public class Comment {
 
     private String text;
 
-    @ManyToOne
+    @ManyToOne(optional = false)
     @JoinColumn(name = "item_id")
     private Item item;
 
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Denormalised owner dashboard row. Last/next bookings are valid until {@code refreshAt},
+ * when the next booking starts or the first booking of the item ends.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "item_summaries")
+public class ItemSummary {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking lastBooking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking nextBooking;
+
+    @Column(name = "comment_count")
+    private int commentCount;
+
+    @Column(name = "refresh_at")
+    private Instant refreshAt;
+}
@@ -1,28 +1,76 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findAllByOwnerIdOrderByIdAsc(Long ownerId);
+    String MATCHES = "i.available = TRUE " +
+            "AND (UPPER(i.name) LIKE CONCAT('%', UPPER(?1), '%') " +
+            "OR UPPER(i.description) LIKE CONCAT('%', UPPER(?1), '%')) ";
+
+    String BY_RELEVANCE = "ORDER BY CASE " +
+            "WHEN UPPER(i.name) = UPPER(?1) THEN 0 " +
+            "WHEN UPPER(i.name) LIKE CONCAT(UPPER(?1), '%') THEN 1 " +
+            "WHEN UPPER(i.name) LIKE CONCAT('%', UPPER(?1), '%') THEN 2 " +
+            "ELSE 3 END, i.id ASC";
+
+    String SEARCH = "SELECT i FROM Item AS i WHERE " + MATCHES + BY_RELEVANCE;
+
+    @Query(SEARCH)
+    List<Item> findItemsByQuery(String text, Pageable page);
 
-    @Query("SELECT i FROM Item AS i " +
-            "WHERE UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) " +
-            " OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))" +
-            "AND i.available=TRUE")
-    List<Item> findItemsByQuery(String text);
+    /**
+     * The substring search restricted to the candidates found by the in-memory trigram index.
+     */
+    @Query("SELECT i FROM Item AS i WHERE i.id IN ?2 AND " + MATCHES + BY_RELEVANCE)
+    List<Item> findItemsByQueryAndIdIn(String text, Collection<Long> ids, Pageable page);
+
+    @Query(SEARCH)
+    @EntityGraph(attributePaths = {"owner", "itemRequest", "itemRequest.requester"})
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<Item> streamItemsByQuery(String text);
+
+    @Query("SELECT new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description) " +
+            "FROM Item AS i " +
+            "WHERE i.available = TRUE " +
+            "ORDER BY i.id ASC")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<IndexedItem> streamIndexedItems();
 
     @Query("SELECT u.id FROM Item AS it " +
             "JOIN it.owner AS u " +
             "WHERE it.id = ?1")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Long> findOwnerIdByItemId(Long itemId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item AS i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Query("SELECT i FROM Item AS i WHERE i.itemRequest.id = ?1")
     List<Item> findByItemRequestId(Long id);
+
+    @Query("SELECT i FROM Item AS i WHERE i.itemRequest.id IN ?1")
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findByItemRequestIdIn(Collection<Long> requestIds);
 }
\ No newline at end of file
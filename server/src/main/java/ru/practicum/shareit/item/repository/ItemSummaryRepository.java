@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.ItemSummary;
+
+import javax.persistence.LockModeType;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemSummaryRepository extends JpaRepository<ItemSummary, Long> {
+
+    @Query("SELECT s FROM ItemSummary AS s " +
+            "JOIN FETCH s.item AS i " +
+            "JOIN FETCH i.owner " +
+            "LEFT JOIN FETCH i.itemRequest AS r " +
+            "LEFT JOIN FETCH r.requester " +
+            "LEFT JOIN FETCH s.lastBooking AS lb " +
+            "LEFT JOIN FETCH lb.booker " +
+            "LEFT JOIN FETCH s.nextBooking AS nb " +
+            "LEFT JOIN FETCH nb.booker " +
+            "WHERE i.owner.id = ?1 " +
+            "ORDER BY i.id ASC")
+    List<ItemSummary> findAllByOwnerId(Long ownerId);
+
+    /**
+     * Locks the summaries in item id order, so concurrent refreshes of overlapping items cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemSummary AS s WHERE s.itemId IN ?1 ORDER BY s.itemId ASC")
+    List<ItemSummary> findAllByIdForUpdate(Collection<Long> itemIds);
+
+    @Modifying
+    @Query("UPDATE ItemSummary AS s SET s.commentCount = s.commentCount + 1 WHERE s.itemId = ?1")
+    int incrementCommentCount(Long itemId);
+}
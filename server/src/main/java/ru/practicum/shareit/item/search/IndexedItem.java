@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Data;
+
+import java.util.Locale;
+
+@Data
+public class IndexedItem {
+
+    private final Long id;
+
+    private final String name;
+
+    private final String description;
+
+    public IndexedItem(Long id, String name, String description) {
+        this.id = id;
+        this.name = normalize(name);
+        this.description = normalize(description);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+}
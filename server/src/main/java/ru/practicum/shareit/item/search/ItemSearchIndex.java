@@ -0,0 +1,211 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory trigram index over available items. It keeps the posting lists and, per item, the
+ * numbers of its trigrams, but not the item text: a search returns the items holding every trigram of
+ * the query, and the database checks those candidates against the real substring search. An update or
+ * removal touches only the posting lists of the item's own trigrams; a new item has none to remove.
+ * <p>
+ * The index is built once singletons are ready, before the web server accepts requests, so no item
+ * change can be applied ahead of the stale row the build reads for it.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex implements SmartInitializingSingleton {
+
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * Above this many candidates the index narrows the search too little to beat the plain SQL query.
+     */
+    static final int MAX_CANDIDATES = 1000;
+
+    private final boolean enabled;
+    private final ItemRepository itemRepository;
+    private final TransactionOperations transactions;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> gramNumbers = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final Map<Long, PostingList> itemGrams = new HashMap<>();
+    private volatile boolean ready;
+
+    public ItemSearchIndex(@Value("${shareit.search.in-memory.enabled:false}") boolean enabled,
+                           ItemRepository itemRepository,
+                           TransactionOperations transactions) {
+        this.enabled = enabled;
+        this.itemRepository = itemRepository;
+        this.transactions = transactions;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            gramNumbers.clear();
+            postings.clear();
+            itemGrams.clear();
+            int[] count = new int[1];
+            transactions.executeWithoutResult(status -> {
+                try (Stream<IndexedItem> stream = itemRepository.streamIndexedItems()) {
+                    stream.forEach(item -> {
+                        link(item);
+                        count[0]++;
+                    });
+                }
+            });
+            long bytes = 0;
+            for (PostingList list : postings) {
+                list.trim();
+                bytes += list.sizeInBytes();
+            }
+            for (PostingList grams : itemGrams.values()) {
+                bytes += grams.sizeInBytes();
+            }
+            ready = true;
+            log.info("Item search index built: {} items, {} trigrams, {} KB of postings and item trigrams",
+                    count[0], postings.size(), bytes / 1024);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!event.isCreated()) {
+                unlink(event.getItemId());
+            }
+            if (Boolean.TRUE.equals(event.getAvailable())) {
+                link(new IndexedItem(event.getItemId(), event.getName(), event.getDescription()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemDeleted(ItemDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unlink(event.getItemId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ascending ids of the items whose text holds every trigram of {@code query}, a superset of the
+     * substring matches. Empty when the index cannot narrow the search: it is disabled or not built yet,
+     * the query is shorter than a trigram, or more than {@link #MAX_CANDIDATES} items qualify.
+     */
+    public Optional<List<Long>> findCandidates(String query) {
+        String text = IndexedItem.normalize(query.strip());
+        if (!ready || text.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (Long gram : grams(text)) {
+                Integer number = gramNumbers.get(gram);
+                if (number == null || postings.get(number).isEmpty()) {
+                    return Optional.of(List.of());
+                }
+                lists.add(postings.get(number));
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            long[] candidates = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+                candidates = lists.get(i).retainAll(candidates);
+            }
+            if (candidates.length > MAX_CANDIDATES) {
+                return Optional.empty();
+            }
+            return Optional.of(Arrays.stream(candidates)
+                    .boxed()
+                    .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(IndexedItem item) {
+        Set<Long> grams = grams(item.getName());
+        grams.addAll(grams(item.getDescription()));
+        long[] numbers = new long[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            int number = gramNumbers.computeIfAbsent(gram, key -> {
+                postings.add(new PostingList());
+                return postings.size() - 1;
+            });
+            postings.get(number).add(item.getId());
+            numbers[i++] = number;
+        }
+        Arrays.sort(numbers);
+        PostingList own = new PostingList();
+        for (long number : numbers) {
+            own.add(number);
+        }
+        own.trim();
+        itemGrams.put(item.getId(), own);
+    }
+
+    private void unlink(Long itemId) {
+        PostingList grams = itemGrams.remove(itemId);
+        if (grams == null) {
+            return;
+        }
+        for (long number : grams.toArray()) {
+            postings.get((int) number).remove(itemId);
+        }
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+}
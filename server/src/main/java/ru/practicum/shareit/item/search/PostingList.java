@@ -0,0 +1,186 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Ascending ids, stored as varint-encoded gaps between neighbours: the item ids of one trigram, or the
+ * trigram numbers of one item. Ids arrive in ascending order while the index is built, so adding is an
+ * append; an out-of-order add or a removal rewrites only the gaps around the id and shifts the bytes
+ * after it, without decoding the rest of the list.
+ */
+class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int size;
+    private long last;
+
+    void add(long id) {
+        if (size == 0 || id > last) {
+            append(id);
+            return;
+        }
+        Reader reader = new Reader();
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            int start = reader.offset;
+            long next = reader.next();
+            if (next == id) {
+                return;
+            }
+            if (next > id) {
+                splice(start, reader.offset, id - previous, next - id);
+                size++;
+                return;
+            }
+            previous = next;
+        }
+    }
+
+    void remove(long id) {
+        if (size == 0 || id > last) {
+            return;
+        }
+        Reader reader = new Reader();
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            int start = reader.offset;
+            long next = reader.next();
+            if (next > id) {
+                return;
+            }
+            if (next == id) {
+                if (i == size - 1) {
+                    length = start;
+                    last = previous;
+                } else {
+                    long following = reader.next();
+                    splice(start, reader.offset, following - previous);
+                }
+                size--;
+                return;
+            }
+            previous = next;
+        }
+    }
+
+    boolean contains(long id) {
+        if (size == 0 || id > last) {
+            return false;
+        }
+        Reader reader = new Reader();
+        for (int i = 0; i < size; i++) {
+            long next = reader.next();
+            if (next >= id) {
+                return next == id;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ids present both in this list and in {@code ids}, which must be sorted ascending.
+     */
+    long[] retainAll(long[] ids) {
+        long[] retained = new long[Math.min(size, ids.length)];
+        int count = 0;
+        int next = 0;
+        Reader reader = new Reader();
+        for (int i = 0; i < size && next < ids.length; i++) {
+            long id = reader.next();
+            while (next < ids.length && ids[next] < id) {
+                next++;
+            }
+            if (next < ids.length && ids[next] == id) {
+                retained[count++] = id;
+            }
+        }
+        return Arrays.copyOf(retained, count);
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        Reader reader = new Reader();
+        for (int i = 0; i < size; i++) {
+            ids[i] = reader.next();
+        }
+        return ids;
+    }
+
+    /**
+     * Drops the spare capacity left by appends, once the list is not expected to grow soon.
+     */
+    void trim() {
+        if (bytes.length > length) {
+            bytes = Arrays.copyOf(bytes, length);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int sizeInBytes() {
+        return bytes.length;
+    }
+
+    private void append(long id) {
+        if (length + MAX_VARINT_BYTES > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + MAX_VARINT_BYTES));
+        }
+        length = write(bytes, length, id - last);
+        last = id;
+        size++;
+    }
+
+    /**
+     * Replaces the bytes in {@code [from, to)} with the given gaps.
+     */
+    private void splice(int from, int to, long... gaps) {
+        byte[] encoded = new byte[gaps.length * MAX_VARINT_BYTES];
+        int encodedLength = 0;
+        for (long gap : gaps) {
+            encodedLength = write(encoded, encodedLength, gap);
+        }
+        int newLength = length - (to - from) + encodedLength;
+        byte[] target = newLength > bytes.length ? Arrays.copyOf(bytes, newLength + MAX_VARINT_BYTES) : bytes;
+        System.arraycopy(bytes, to, target, from + encodedLength, length - to);
+        System.arraycopy(encoded, 0, target, from, encodedLength);
+        bytes = target;
+        length = newLength;
+    }
+
+    private static int write(byte[] target, int offset, long gap) {
+        while ((gap & ~0x7FL) != 0) {
+            target[offset++] = (byte) (gap | 0x80);
+            gap >>>= 7;
+        }
+        target[offset++] = (byte) gap;
+        return offset;
+    }
+
+    private final class Reader {
+        private int offset;
+        private long id;
+
+        long next() {
+            long gap = 0;
+            int shift = 0;
+            byte next;
+            do {
+                next = bytes[offset++];
+                gap |= (long) (next & 0x7F) << shift;
+                shift += 7;
+            } while (next < 0);
+            id += gap;
+            return id;
+        }
+    }
+}
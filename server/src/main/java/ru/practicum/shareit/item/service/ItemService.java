@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto create(Long userId, ItemDto itemDto);
@@ -17,7 +18,9 @@ public interface ItemService {
 
     List<ItemDto> getAllByUserId(Long userId);
 
-    List<ItemDto> getByQuery(String query);
+    List<ItemDto> getByQuery(String query, Integer from, Integer size);
+
+    void streamByQuery(String query, Consumer<ItemDto> consumer);
 
     void deleteItemsById(Long id);
 
@@ -25,4 +28,9 @@ public interface ItemService {
 
     Item getItemOrElseThrow(Long itemId);
 
+    /**
+     * Locks the item row until the current transaction ends, serializing changes to the item's bookings.
+     */
+    void lockItem(Long itemId);
+
 }
\ No newline at end of file
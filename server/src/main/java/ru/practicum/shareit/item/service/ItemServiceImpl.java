@@ -2,34 +2,47 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.cache.ItemView;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -42,6 +55,11 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final UserService userService;
+    private final ItemSummaryService itemSummaryService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemViewCache itemViewCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Override
     public ItemDto create(Long userId, ItemDto itemDto) {
@@ -55,7 +73,9 @@ public class ItemServiceImpl implements ItemService {
                             "ItemRequest's id %d doesn't found!", requestId)));
             item.setItemRequest(itemRequest);
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item saved = saveAndPublish(item, true);
+        itemSummaryService.addItem(saved);
+        return ItemMapper.toItemDto(saved);
     }
 
     @Override
@@ -67,15 +87,18 @@ public class ItemServiceImpl implements ItemService {
         comment.setItem(item);
         comment.setAuthor(user);
         comment.setCreated(Instant.now());
-        return CommentMapper.toCommentDto(commentRepository.save(comment));
+        Comment saved = commentRepository.save(comment);
+        itemSummaryService.addComment(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
+        return CommentMapper.toCommentDto(saved);
     }
 
     @Override
     public ItemDto update(Long userId, ItemDto itemDto, Long id) {
-        userService.getUserOrElseThrow(userId);
+        userService.checkUserExists(userId);
         Item item = getItemOrElseThrow(id);
         Optional<Long> ownerId = itemRepository.findOwnerIdByItemId(item.getId());
-        if (ownerId.isEmpty() || !ownerId.get().equals(item.getOwner().getId())) {
+        if (ownerId.isEmpty() || !ownerId.get().equals(userId)) {
             throw new NotFoundException(String.format("User with id %d does not own item with id %d", userId, id));
         }
         if (itemDto.getName() != null) {
@@ -87,67 +110,78 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        return ItemMapper.toItemDto(saveAndPublish(item, false));
     }
 
     @Override
     public ItemDto getById(Long userId, Long id) {
-        Item item = itemRepository
-                .findById(id)
-                .orElseThrow(() -> new NotFoundException(String.format("Item's id %d doesn't found!", id)));
-
-        ItemDto itemDto = ItemMapper.toItemDto(item);
-
-        if (Objects.equals(item.getOwner().getId(), userId)) {
-
-            Optional<Booking> lastBooking = bookingRepository
-                    .findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(id, Status.APPROVED, Instant.now());
-            Optional<Booking> nextBooking = bookingRepository
-                    .findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(id, Status.APPROVED, Instant.now());
-
-            lastBooking.ifPresent(lb -> itemDto.setLastBooking(BookingMapper.toBookingItemDto(lb)));
-            nextBooking.ifPresent(lb -> itemDto.setNextBooking(BookingMapper.toBookingItemDto(lb)));
-        }
-
-        List<Comment> commentList = commentRepository.findAllByItemId(id);
-
-        if (!commentList.isEmpty()) {
-            itemDto.setComments(CommentMapper.toICommentDtoList(commentList));
-        } else {
-            itemDto.setComments(Collections.emptyList());
-        }
-
-        return itemDto;
+        return itemViewCache.get(id, userId, () -> loadItemView(userId, id));
     }
 
     @Override
     public List<ItemDto> getAllByUserId(Long userId) {
-        userService.getUserById(userId);
-        return itemRepository.findAllByOwnerIdOrderByIdAsc(userId)
+        userService.checkUserExists(userId);
+        List<ItemSummary> summaries = itemSummaryService.getOwnerSummaries(userId);
+
+        List<Long> commentedItemIds = summaries.stream()
+                .filter(summary -> summary.getCommentCount() > 0)
+                .map(ItemSummary::getItemId)
+                .collect(Collectors.toList());
+        Map<Long, List<CommentDto>> comments = commentedItemIds.isEmpty()
+                ? Collections.emptyMap()
+                : commentRepository.findAllByItemIdIn(commentedItemIds)
                 .stream()
-                .map(item -> ItemMapper.toItemDto(item,
-                        getLastBooking(item),
-                        getNextBooking(item),
-                        getAllCommentsByItemId(item.getId()))
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
+        return summaries.stream()
+                .map(summary -> ItemMapper.toItemDto(summary.getItem(),
+                        toBookingItemDto(summary.getLastBooking()),
+                        toBookingItemDto(summary.getNextBooking()),
+                        comments.getOrDefault(summary.getItemId(), Collections.emptyList()))
                 )
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> getByQuery(String query) {
+    public List<ItemDto> getByQuery(String query, Integer from, Integer size) {
         if (query.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository
-                .findItemsByQuery(query)
+        Optional<List<Long>> candidates = itemSearchIndex.findCandidates(query);
+        List<Item> items;
+        if (candidates.isEmpty()) {
+            items = itemRepository.findItemsByQuery(query.strip(), OffsetPageRequest.of(from, size));
+        } else if (candidates.get().isEmpty()) {
+            items = Collections.emptyList();
+        } else {
+            items = itemRepository.findItemsByQueryAndIdIn(query.strip(), candidates.get(),
+                    OffsetPageRequest.of(from, size));
+        }
+        return items
                 .stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamByQuery(String query, Consumer<ItemDto> consumer) {
+        if (query.isBlank()) {
+            return;
+        }
+        try (Stream<Item> items = itemRepository.streamItemsByQuery(query.strip())) {
+            items.forEach(item -> {
+                consumer.accept(ItemMapper.toItemDto(item));
+                entityManager.detach(item);
+            });
+        }
+    }
+
     @Override
     public void deleteItemsById(Long id) {
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ItemDeletedEvent(id));
     }
 
     @Override
@@ -166,18 +200,53 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException(String.format("Item's id %d doesn't found!", itemId)));
     }
 
-    private ItemOwnerDto getLastBooking(Item item) {
-        return bookingRepository
-                .findLastBooking(item.getId(), Instant.now())
-                .map(BookingMapper::toBookingItemDto)
-                .orElse(null);
+    @Override
+    public void lockItem(Long itemId) {
+        itemRepository
+                .findByIdForUpdate(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Item's id %d doesn't found!", itemId)));
+    }
+
+    private Item saveAndPublish(Item item, boolean created) {
+        Item saved = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemSavedEvent(saved.getId(), saved.getName(),
+                saved.getDescription(), saved.getAvailable(), created));
+        return saved;
+    }
+
+    private ItemView loadItemView(Long userId, Long id) {
+        Item item = itemRepository
+                .findById(id)
+                .orElseThrow(() -> new NotFoundException(String.format("Item's id %d doesn't found!", id)));
+
+        ItemDto itemDto = ItemMapper.toItemDto(item);
+        Instant refreshAt = null;
+
+        if (Objects.equals(item.getOwner().getId(), userId)) {
+            Instant now = Instant.now();
+            Optional<Booking> lastBooking = bookingRepository
+                    .findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(id, Status.APPROVED, now);
+            Optional<Booking> nextBooking = bookingRepository
+                    .findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(id, Status.APPROVED, now);
+
+            lastBooking.ifPresent(lb -> itemDto.setLastBooking(BookingMapper.toBookingItemDto(lb)));
+            nextBooking.ifPresent(lb -> itemDto.setNextBooking(BookingMapper.toBookingItemDto(lb)));
+            refreshAt = nextBooking.map(Booking::getStart).orElse(null);
+        }
+
+        List<Comment> commentList = commentRepository.findAllByItemId(id);
+
+        if (!commentList.isEmpty()) {
+            itemDto.setComments(CommentMapper.toICommentDtoList(commentList));
+        } else {
+            itemDto.setComments(Collections.emptyList());
+        }
+
+        return new ItemView(item.getOwner().getId(), itemDto, refreshAt);
     }
 
-    private ItemOwnerDto getNextBooking(Item item) {
-        return bookingRepository
-                .findNextBooking(item.getId(), Instant.now())
-                .map(BookingMapper::toBookingItemDto)
-                .orElse(null);
+    private static ItemOwnerDto toBookingItemDto(Booking booking) {
+        return booking == null ? null : BookingMapper.toBookingItemDto(booking);
     }
 
     private void checkBooker(Long userId, Long itemId) {
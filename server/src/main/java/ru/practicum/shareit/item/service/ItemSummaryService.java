@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemSummaryService {
+    List<ItemSummary> getOwnerSummaries(Long ownerId);
+
+    void addItem(Item item);
+
+    void addComment(Long itemId);
+
+    void refresh(Collection<Long> itemIds);
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSummaryRepository;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class ItemSummaryServiceImpl implements ItemSummaryService {
+
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ItemSummary> getOwnerSummaries(Long ownerId) {
+        List<ItemSummary> summaries = itemSummaryRepository.findAllByOwnerId(ownerId);
+        Instant now = Instant.now();
+        List<Long> staleItemIds = summaries.stream()
+                .filter(summary -> summary.getRefreshAt() != null && !summary.getRefreshAt().isAfter(now))
+                .map(ItemSummary::getItemId)
+                .collect(Collectors.toList());
+        if (staleItemIds.isEmpty()) {
+            return summaries;
+        }
+        summaries.forEach(entityManager::detach);
+        refresh(staleItemIds);
+        return itemSummaryRepository.findAllByOwnerId(ownerId);
+    }
+
+    @Override
+    public void addItem(Item item) {
+        itemSummaryRepository.save(ItemSummary.builder()
+                .item(item)
+                .build());
+    }
+
+    @Override
+    public void addComment(Long itemId) {
+        if (itemSummaryRepository.incrementCommentCount(itemId) == 0) {
+            refresh(List.of(itemId));
+        }
+    }
+
+    /**
+     * Locks the summaries before reading the bookings, so a refresh computed from older bookings cannot
+     * be saved over a newer one. Summaries must not already be loaded in the persistence context: their
+     * stale comment count would be written back.
+     */
+    @Override
+    public void refresh(Collection<Long> itemIds) {
+        Map<Long, ItemSummary> summaries = itemSummaryRepository.findAllByIdForUpdate(itemIds)
+                .stream()
+                .collect(Collectors.toMap(ItemSummary::getItemId, Function.identity()));
+        Instant now = Instant.now();
+        Map<Long, Booking> lastBookings = groupFirstByItemId(bookingRepository.findLastBookings(itemIds, now));
+        Map<Long, Booking> nextBookings = groupFirstByItemId(
+                bookingRepository.findNextBookings(itemIds, now, Status.REJECTED));
+        Map<Long, Booking> endingBookings = groupFirstByItemId(bookingRepository.findEndingBookings(itemIds, now));
+
+        for (Long itemId : itemIds) {
+            ItemSummary summary = summaries.get(itemId);
+            if (summary == null) {
+                summary = ItemSummary.builder()
+                        .item(itemRepository.getReferenceById(itemId))
+                        .commentCount((int) commentRepository.countByItemId(itemId))
+                        .build();
+            }
+            Booking lastBooking = lastBookings.get(itemId);
+            Booking nextBooking = nextBookings.get(itemId);
+            summary.setLastBooking(lastBooking);
+            summary.setNextBooking(nextBooking);
+            summary.setRefreshAt(refreshAt(lastBooking, nextBooking, endingBookings.get(itemId)));
+            itemSummaryRepository.save(summary);
+        }
+    }
+
+    private static Instant refreshAt(Booking lastBooking, Booking nextBooking, Booking endingBooking) {
+        Instant refreshAt = nextBooking == null ? null : nextBooking.getStart();
+        if (lastBooking == null && endingBooking != null
+                && (refreshAt == null || endingBooking.getEnd().isBefore(refreshAt))) {
+            refreshAt = endingBooking.getEnd();
+        }
+        return refreshAt;
+    }
+
+    private static Map<Long, Booking> groupFirstByItemId(List<Booking> bookings) {
+        Map<Long, Booking> result = new HashMap<>();
+        for (Booking booking : bookings) {
+            result.putIfAbsent(booking.getItem().getId(), booking);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Exposes Hibernate {@link Statistics} as {@code /actuator/hibernate}: per-query execution counts and
+ * timings, slowest first, entity load counts and second-level cache hits per region. A POST resets them.
+ * Numbers are only collected while {@code shareit.hibernate-statistics.enabled} is on. The endpoint is not
+ * in the default web exposure because the reset is unauthenticated; add it to
+ * {@code management.endpoints.web.exposure.include} only where the actuator port is private.
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public HibernateStatisticsDescriptor statistics() {
+        return HibernateStatisticsDescriptor.builder()
+                .enabled(statistics.isStatisticsEnabled())
+                .since(Instant.ofEpochMilli(statistics.getStartTime()))
+                .sessionsOpened(statistics.getSessionOpenCount())
+                .transactions(statistics.getTransactionCount())
+                .statementsPrepared(statistics.getPrepareStatementCount())
+                .queryExecutions(statistics.getQueryExecutionCount())
+                .queryExecutionMaxTimeMillis(statistics.getQueryExecutionMaxTime())
+                .slowestQuery(statistics.getQueryExecutionMaxTimeQueryString())
+                .queryCacheHits(statistics.getQueryCacheHitCount())
+                .queryCacheMisses(statistics.getQueryCacheMissCount())
+                .entityLoads(statistics.getEntityLoadCount())
+                .entityFetches(statistics.getEntityFetchCount())
+                .secondLevelCacheHits(statistics.getSecondLevelCacheHitCount())
+                .secondLevelCacheMisses(statistics.getSecondLevelCacheMissCount())
+                .secondLevelCachePuts(statistics.getSecondLevelCachePutCount())
+                .queries(Arrays.stream(statistics.getQueries())
+                        .map(this::query)
+                        .sorted(Comparator.comparingLong(QueryDescriptor::getTotalTimeMillis).reversed())
+                        .collect(Collectors.toList()))
+                .entities(Arrays.stream(statistics.getEntityNames())
+                        .sorted()
+                        .map(this::entity)
+                        .collect(Collectors.toList()))
+                .cacheRegions(Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                        .sorted()
+                        .map(this::cacheRegion)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @WriteOperation
+    public void clear() {
+        statistics.clear();
+    }
+
+    private QueryDescriptor query(String query) {
+        QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+        return QueryDescriptor.builder()
+                .query(query)
+                .executions(queryStatistics.getExecutionCount())
+                .rows(queryStatistics.getExecutionRowCount())
+                .totalTimeMillis(queryStatistics.getExecutionTotalTime())
+                .averageTimeMillis(queryStatistics.getExecutionAvgTime())
+                .maxTimeMillis(queryStatistics.getExecutionMaxTime())
+                .cacheHits(queryStatistics.getCacheHitCount())
+                .cacheMisses(queryStatistics.getCacheMissCount())
+                .build();
+    }
+
+    private EntityDescriptor entity(String entityName) {
+        EntityStatistics entityStatistics = statistics.getEntityStatistics(entityName);
+        return EntityDescriptor.builder()
+                .entity(entityName)
+                .loads(entityStatistics.getLoadCount())
+                .fetches(entityStatistics.getFetchCount())
+                .inserts(entityStatistics.getInsertCount())
+                .updates(entityStatistics.getUpdateCount())
+                .deletes(entityStatistics.getDeleteCount())
+                .build();
+    }
+
+    @Nullable
+    private CacheRegionDescriptor cacheRegion(String regionName) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(regionName);
+        if (regionStatistics == null) {
+            return null;
+        }
+        return CacheRegionDescriptor.builder()
+                .region(regionName)
+                .hits(regionStatistics.getHitCount())
+                .misses(regionStatistics.getMissCount())
+                .puts(regionStatistics.getPutCount())
+                .build();
+    }
+
+    @Value
+    @Builder
+    public static class HibernateStatisticsDescriptor {
+        boolean enabled;
+        Instant since;
+        long sessionsOpened;
+        long transactions;
+        long statementsPrepared;
+        long queryExecutions;
+        long queryExecutionMaxTimeMillis;
+        String slowestQuery;
+        long queryCacheHits;
+        long queryCacheMisses;
+        long entityLoads;
+        long entityFetches;
+        long secondLevelCacheHits;
+        long secondLevelCacheMisses;
+        long secondLevelCachePuts;
+        List<QueryDescriptor> queries;
+        List<EntityDescriptor> entities;
+        List<CacheRegionDescriptor> cacheRegions;
+    }
+
+    @Value
+    @Builder
+    public static class QueryDescriptor {
+        String query;
+        long executions;
+        long rows;
+        long totalTimeMillis;
+        long averageTimeMillis;
+        long maxTimeMillis;
+        long cacheHits;
+        long cacheMisses;
+    }
+
+    @Value
+    @Builder
+    public static class EntityDescriptor {
+        String entity;
+        long loads;
+        long fetches;
+        long inserts;
+        long updates;
+        long deletes;
+    }
+
+    @Value
+    @Builder
+    public static class CacheRegionDescriptor {
+        String region;
+        long hits;
+        long misses;
+        long puts;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.State;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every service and repository call. Booking queries are also tagged with the requested
+ * {@link State}, since ALL and PAST page through very different amounts of history.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MethodTimingAspect {
+
+    static final String SERVICE_TIMER = "shareit.service";
+    static final String REPOSITORY_TIMER = "shareit.repository";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String state = Arrays.stream(joinPoint.getArgs())
+                .filter(State.class::isInstance)
+                .map(arg -> ((State) arg).name())
+                .findFirst()
+                .orElse(NONE);
+        return time(SERVICE_TIMER, joinPoint, Tags.of(
+                "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName(),
+                "state", state));
+    }
+
+    @Around("execution(* ru.practicum.shareit..repository.*Repository.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint, Tags.of(
+                "repository", repositoryName(joinPoint.getThis().getClass()),
+                "method", joinPoint.getSignature().getName()));
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint, Tags tags) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(name, tags.and("exception", exception)));
+        }
+    }
+
+    /**
+     * Spring Data repositories are proxies, so the name comes from the repository interface they implement
+     * rather than from the class that declares the called method, e.g. {@code CrudRepository}.
+     */
+    private String repositoryName(Class<?> proxyClass) {
+        return repositoryNames.computeIfAbsent(proxyClass, type -> Arrays.stream(type.getInterfaces())
+                .filter(repository -> repository.getName().startsWith("ru.practicum.shareit."))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(type.getSimpleName()));
+    }
+}
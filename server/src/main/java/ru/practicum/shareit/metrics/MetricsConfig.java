@@ -0,0 +1,21 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.user.service.UserResolutionCounter;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Registered here rather than as a component so web slice tests, which have no JPA, leave it out.
+     */
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(QueryCounter queryCounter,
+                                                                     UserResolutionCounter userResolutionCounter,
+                                                                     MeterRegistry meterRegistry) {
+        return new FilterRegistrationBean<>(new QueryCountFilter(queryCounter, userResolutionCounter, meterRegistry));
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.user.service.UserResolutionCounter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records the number of SQL statements each request issued as {@code shareit.db.queries}, tagged like
+ * {@code http.server.requests}, so an N+1 regression shows up as a jump in the per-request count. The users
+ * each request resolved are recorded alongside as {@code shareit.users.resolutions}, tagged with the mode.
+ */
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String QUERY_COUNT = "shareit.db.queries";
+    static final String USER_RESOLUTIONS = "shareit.users.resolutions";
+
+    private final QueryCounter queryCounter;
+    private final UserResolutionCounter userResolutionCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        queryCounter.start();
+        userResolutionCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int queries = queryCounter.stop();
+            Map<String, Integer> resolutions = userResolutionCounter.stop();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uriTag = uri != null ? uri.toString() : "UNKNOWN";
+            DistributionSummary.builder(QUERY_COUNT)
+                    .baseUnit("queries")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uriTag)
+                    .register(meterRegistry)
+                    .record(queries);
+            resolutions.forEach((mode, count) -> DistributionSummary.builder(USER_RESOLUTIONS)
+                    .baseUnit("resolutions")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uriTag)
+                    .tag("mode", mode)
+                    .register(meterRegistry)
+                    .record(count));
+        }
+    }
+}
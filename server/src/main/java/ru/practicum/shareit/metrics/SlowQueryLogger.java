@@ -0,0 +1,100 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements slower than {@code shareit.slow-query.threshold}: the SQL as prepared, with
+ * {@code ?} placeholders, and the type of each bound parameter instead of its value, so no user
+ * data reaches the log. Only {@code shareit.slow-query.sample-rate} of the slow statements are
+ * logged; all of them are counted in {@code shareit.db.slow.queries}. The listener is attached to
+ * the data source proxy that Sleuth's JDBC instrumentation installs.
+ */
+@Slf4j
+@Component
+public class SlowQueryLogger implements QueryExecutionListener, MeterBinder {
+
+    private final boolean enabled;
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final LongAdder slowQueries = new LongAdder();
+
+    public SlowQueryLogger(@Value("${shareit.slow-query.enabled:true}") boolean enabled,
+                           @Value("${shareit.slow-query.threshold:PT0.2S}") Duration threshold,
+                           @Value("${shareit.slow-query.sample-rate:0.1}") double sampleRate) {
+        this.enabled = enabled;
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!enabled || execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        slowQueries.increment();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            log.warn("Slow query took {} ms{}: {} parameters {}", execInfo.getElapsedTime(),
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "",
+                    query.getQuery(), parameterShapes(query.getParametersList()));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.db.slow.queries", slowQueries, LongAdder::sum)
+                .description("Statements slower than shareit.slow-query.threshold")
+                .register(registry);
+    }
+
+    /**
+     * Describes the first parameter set, e.g. {@code [Long, Timestamp, null]}; batches share one shape.
+     */
+    static String parameterShapes(List<List<ParameterSetOperation>> parametersList) {
+        if (parametersList.isEmpty()) {
+            return "[]";
+        }
+        return parametersList.get(0).stream()
+                .sorted(Comparator.comparingInt(SlowQueryLogger::parameterIndex))
+                .map(SlowQueryLogger::parameterShape)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static int parameterIndex(ParameterSetOperation operation) {
+        Object index = operation.getArgs()[0];
+        return index instanceof Integer ? (Integer) index : Integer.MAX_VALUE;
+    }
+
+    private static String parameterShape(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "null";
+        }
+        Object[] args = operation.getArgs();
+        if (args.length > 1 && args[1] != null && "setObject".equals(operation.getMethod().getName())) {
+            return args[1].getClass().getSimpleName();
+        }
+        return operation.getMethod().getName().substring("set".length());
+    }
+}
@@ -2,11 +2,15 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -29,13 +33,23 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> findAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(value = "from", required = false, defaultValue = "0")
-                                                Integer from,
-                                                @RequestParam(value = "size", required = false, defaultValue = "10")
-                                                Integer size) {
-        return itemRequestService.getAllRequests(userId, from, size);
-
+    public ResponseEntity<List<ItemRequestDto>> findAllRequests(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        PageCursor after = cursor == null ? null : PageCursor.decodeWithPosition(cursor);
+        if (since != null) {
+            Instant sincePosition = ItemRequestMapper.toCursorPosition(since);
+            if (after == null || after.getPosition().isBefore(sincePosition)) {
+                after = PageCursor.since(sincePosition);
+            }
+        }
+        List<ItemRequestDto> requests = after == null
+                ? itemRequestService.getAllRequests(userId, from, size)
+                : itemRequestService.getAllRequests(userId, after, size);
+        return withNextCursor(requests, size);
     }
 
     @GetMapping("/{requestId}")
@@ -45,4 +59,14 @@ public class ItemRequestController {
 
     }
 
+    private ResponseEntity<List<ItemRequestDto>> withNextCursor(List<ItemRequestDto> requests, Integer size) {
+        if (requests.size() < size) {
+            return ResponseEntity.ok(requests);
+        }
+        ItemRequestDto last = requests.get(requests.size() - 1);
+        return ResponseEntity.ok()
+                .header(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(ItemRequestMapper.toCursorPosition(last.getCreated()), last.getId()).encode())
+                .body(requests);
+    }
+
 }
\ No newline at end of file
@@ -5,6 +5,10 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
 @Component
 public class ItemRequestMapper {
     public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
@@ -25,4 +29,16 @@ public class ItemRequestMapper {
                 .requester(user)
                 .build();
     }
+
+    /**
+     * {@code requests.created} has no time zone, so paging cursors carry it as if it were UTC,
+     * which keeps the round trip exact.
+     */
+    public static Instant toCursorPosition(LocalDateTime created) {
+        return created.toInstant(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime fromCursorPosition(Instant position) {
+        return LocalDateTime.ofInstant(position, ZoneOffset.UTC);
+    }
 }
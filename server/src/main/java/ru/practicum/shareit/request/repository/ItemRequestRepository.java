@@ -1,15 +1,27 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @EntityGraph(attributePaths = "requester")
     List<ItemRequest> findItemRequestByRequesterId(Long requestId);
 
-    List<ItemRequest> findAllByRequesterIdNotOrderByCreatedAsc(Long userId, PageRequest of);
+    @EntityGraph(attributePaths = "requester")
+    List<ItemRequest> findAllByRequesterIdNotOrderByCreatedAscIdAsc(Long userId, Pageable page);
+
+    @EntityGraph(attributePaths = "requester")
+    @Query("SELECT r FROM ItemRequest AS r " +
+            "WHERE r.requester.id <> ?1 " +
+            "AND (r.created > ?2 OR (r.created = ?2 AND r.id > ?3)) " +
+            "ORDER BY r.created ASC, r.id ASC")
+    List<ItemRequest> findOthersAfterCursor(Long userId, LocalDateTime created, Long id, Pageable page);
 }
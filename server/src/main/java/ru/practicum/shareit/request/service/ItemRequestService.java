@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size);
 
+    List<ItemRequestDto> getAllRequests(Long userId, PageCursor cursor, Integer size);
+
     ItemRequestDto getById(Long userId, Long requestId);
 }
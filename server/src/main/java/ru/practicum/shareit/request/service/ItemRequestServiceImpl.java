@@ -4,8 +4,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequestMapper;
@@ -15,7 +18,10 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -36,30 +42,33 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getAllByUserId(Long userId) {
-        userService.getUserOrElseThrow(userId);
+        userService.checkUserExists(userId);
 
-        return itemRequestRepository.findItemRequestByRequesterId(userId).stream()
-                .map(this::addItemsToRequest)
-                .collect(Collectors.toList());
+        return addItemsToRequests(itemRequestRepository.findItemRequestByRequesterId(userId));
     }
 
     @Override
     public List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size) {
-        userService.getUserOrElseThrow(userId);
+        userService.checkUserExists(userId);
 
-        return itemRequestRepository
-                .findAllByRequesterIdNotOrderByCreatedAsc(userId, PageRequest.of(from, size))
-                .stream()
-                .map(this::addItemsToRequest)
-                .collect(Collectors.toList());
+        return addItemsToRequests(itemRequestRepository
+                .findAllByRequesterIdNotOrderByCreatedAscIdAsc(userId, OffsetPageRequest.of(from, size)));
+    }
+
+    @Override
+    public List<ItemRequestDto> getAllRequests(Long userId, PageCursor cursor, Integer size) {
+        userService.checkUserExists(userId);
+        LocalDateTime created = ItemRequestMapper.fromCursorPosition(cursor.getPosition());
+
+        return addItemsToRequests(itemRequestRepository
+                .findOthersAfterCursor(userId, created, cursor.getId(), PageRequest.of(0, size)));
     }
 
     @Override
     public ItemRequestDto getById(Long userId, Long requestId) {
-        userService.getUserOrElseThrow(userId);
+        userService.checkUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException(String.format("User's id %d doesn't found!", userId)));
-        addItemsToRequest(itemRequest);
         return addItemsToRequest(itemRequest);
     }
 
@@ -72,4 +81,25 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestDto;
     }
 
+    private List<ItemRequestDto> addItemsToRequests(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findByItemRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getItemRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+                    itemRequestDto.setItems(items.getOrDefault(itemRequest.getId(), Collections.emptyList()));
+                    return itemRequestDto;
+                })
+                .collect(Collectors.toList());
+    }
+
 }
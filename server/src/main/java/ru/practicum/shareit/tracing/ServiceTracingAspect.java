@@ -0,0 +1,51 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.State;
+
+import java.util.Arrays;
+
+/**
+ * Opens a span around every service call, between the HTTP server span and the JDBC spans Sleuth
+ * records for the statements the call runs. Spans are named {@code BookingServiceImpl.getItemsBookings}
+ * and, like the service timers, carry the requested booking {@link State}. Calls made outside a trace,
+ * e.g. while the application starts, are not traced.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return joinPoint.proceed();
+        }
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan()
+                .name(className + "." + methodName)
+                .tag("class", className)
+                .tag("method", methodName);
+        Arrays.stream(joinPoint.getArgs())
+                .filter(State.class::isInstance)
+                .findFirst()
+                .ifPresent(state -> span.tag("state", ((State) state).name()));
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span.start())) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
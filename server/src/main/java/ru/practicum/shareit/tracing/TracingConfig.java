@@ -0,0 +1,36 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Writes each finished span to the log when {@code shareit.tracing.log-spans} is set, for local runs
+     * without a Zipkin server. Spans still go to any other exporter that is configured.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "shareit.tracing.log-spans", havingValue = "true")
+    public SpanHandler loggingSpanHandler() {
+        return new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                if (cause == Cause.FINISHED) {
+                    log.info("Span {} {} took {} us: trace {} span {} parent {} tags {}{}",
+                            span.kind() != null ? span.kind() : "LOCAL", span.name(),
+                            span.finishTimestamp() - span.startTimestamp(),
+                            context.traceIdString(), context.spanIdString(), context.parentIdString(),
+                            span.tags(), span.error() != null ? " error " + span.error() : "");
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.user.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts how the current thread resolved users while counting is started: loading the entity or only
+ * checking that the user exists. The query count filter records the counts of each request as
+ * {@code shareit.users.resolutions}, tagged with the mode.
+ */
+@Component
+public class UserResolutionCounter {
+
+    private static final int ENTITY = 0;
+    private static final int EXISTS = 1;
+
+    private final ThreadLocal<int[]> counts = new ThreadLocal<>();
+
+    public void start() {
+        counts.set(new int[2]);
+    }
+
+    /**
+     * Stops counting on this thread and returns the resolutions since {@link #start()} by mode.
+     */
+    public Map<String, Integer> stop() {
+        int[] count = counts.get();
+        counts.remove();
+        if (count == null) {
+            return Map.of();
+        }
+        return Map.of("entity", count[ENTITY], "exists", count[EXISTS]);
+    }
+
+    void entityLookup() {
+        increment(ENTITY);
+    }
+
+    void existenceCheck() {
+        increment(EXISTS);
+    }
+
+    private void increment(int mode) {
+        int[] count = counts.get();
+        if (count != null) {
+            count[mode]++;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -11,11 +13,17 @@ public interface UserService {
 
     UserDto update(UserDto userDto, Long id);
 
-    List<UserDto> getAll();
+    List<UserDto> getAll(Integer from, Integer size);
+
+    List<UserDto> getAll(PageCursor after, Integer size);
+
+    void streamAll(Consumer<UserDto> consumer);
 
     UserDto getUserById(Long id);
 
     void deleteUsersById(Long id);
 
     User getUserOrElseThrow(Long userId);
+
+    void checkUserExists(Long userId);
 }
\ No newline at end of file
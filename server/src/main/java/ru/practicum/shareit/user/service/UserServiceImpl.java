@@ -2,16 +2,22 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -20,6 +26,8 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final UserResolutionCounter resolutionCounter;
 
     @Override
     public UserDto create(UserDto userDto) {
@@ -49,14 +57,36 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getAll() {
+    @Transactional(readOnly = true)
+    public List<UserDto> getAll(Integer from, Integer size) {
         return userRepository
-                .findAll()
+                .findAll(OffsetPageRequest.of(from, size, Sort.by("id")))
                 .stream()
                 .map(UserMapper::toUserDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> getAll(PageCursor after, Integer size) {
+        return userRepository
+                .findAllByIdGreaterThanOrderByIdAsc(after.getId(), OffsetPageRequest.of(0, size))
+                .stream()
+                .map(UserMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(UserMapper.toUserDto(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
     @Override
     public UserDto getUserById(Long id) {
         return userRepository
@@ -72,8 +102,22 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User getUserOrElseThrow(Long id) {
+        resolutionCounter.entityLookup();
         return userRepository
                 .findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("User's id %d doesn't found!", id)));
     }
+
+    /**
+     * Checks the id with an exists query and never loads the user, so callers that only need the id do
+     * not pull a {@link User} into the persistence context or the second-level cache.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void checkUserExists(Long id) {
+        resolutionCounter.existenceCheck();
+        if (!userRepository.existsById(id)) {
+            throw new NotFoundException(String.format("User's id %d doesn't found!", id));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_starts ON bookings (booker_id, starts DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_starts ON bookings (booker_id, status, starts DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_starts ON bookings (item_id, status, starts);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_ends ON bookings (item_id, ends);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created);
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS item_summaries
+(
+    item_id         BIGINT PRIMARY KEY NOT NULL,
+    last_booking_id BIGINT,
+    next_booking_id BIGINT,
+    comment_count   INTEGER            NOT NULL DEFAULT 0,
+    refresh_at      TIMESTAMP WITHOUT TIME ZONE,
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    FOREIGN KEY (last_booking_id) REFERENCES bookings (id) ON DELETE SET NULL,
+    FOREIGN KEY (next_booking_id) REFERENCES bookings (id) ON DELETE SET NULL
+);
+
+INSERT INTO item_summaries (item_id, comment_count, refresh_at)
+SELECT i.id, (SELECT COUNT(*) FROM comments AS c WHERE c.item_id = i.id), CURRENT_TIMESTAMP
+FROM items AS i;
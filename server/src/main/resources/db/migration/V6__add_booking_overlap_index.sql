@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_ends ON bookings (item_id, status, ends);
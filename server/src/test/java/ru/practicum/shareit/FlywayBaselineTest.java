@@ -0,0 +1,50 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Databases created before Flyway by the old {@code schema.sql} have the tables but no schema history.
+ */
+class FlywayBaselineTest {
+
+    private static final String URL = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void testMigrationsApplyToDatabaseCreatedBySchemaSql() {
+        DataSource legacy = new DriverManagerDataSource(URL, "test", "test");
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql")).execute(legacy);
+
+        new ApplicationContextRunner()
+                .withInitializer(new ConfigDataApplicationContextInitializer())
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                        FlywayAutoConfiguration.class))
+                .withPropertyValues("spring.datasource.url=" + URL)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+                    List<String> versions = jdbcTemplate.queryForList(
+                            "SELECT \"version\" FROM \"flyway_schema_history\" "
+                                    + "WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                            String.class);
+                    assertThat(versions).containsExactly("0", "1", "2", "4", "5", "6");
+                    assertThat(jdbcTemplate.queryForObject(
+                            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                                    + "WHERE INDEX_NAME = 'IDX_BOOKINGS_BOOKER_STARTS'",
+                            Integer.class)).isPositive();
+                });
+    }
+}
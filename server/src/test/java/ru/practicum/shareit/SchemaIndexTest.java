@@ -0,0 +1,369 @@
+package ru.practicum.shareit;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSummaryRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Calls every query method the repositories declare, captures the SQL Hibernate sends for it through
+ * datasource-proxy and fails if {@code EXPLAIN} of that SQL, with the same bind values, shows a table scan.
+ */
+@DataJpaTest
+@Import(SchemaIndexTest.StatementCaptureConfig.class)
+class SchemaIndexTest {
+
+    private static final int USERS = 50;
+    private static final int ITEMS_PER_USER = 20;
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final Pageable NEWEST_FIRST = OffsetPageRequest.of(0, 10,
+            Sort.by(Sort.Direction.DESC, "start", "id"));
+
+    /**
+     * Queries that read the whole table by design: the bulk streams, and the substring search, which
+     * Postgres serves from its trigram indexes but H2 can only answer by scanning.
+     */
+    private static final Set<String> FULL_SCANS = Set.of(
+            "ItemRepository.findItemsByQuery",
+            "ItemRepository.streamItemsByQuery",
+            "ItemRepository.streamIndexedItems",
+            "UserRepository.streamAll");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(BookingRepository.class, CommentRepository.class,
+            ItemRepository.class, ItemSummaryRepository.class, ItemRequestRepository.class, UserRepository.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private StatementRecorder recorder;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemSummaryRepository itemSummaryRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        for (int user = 1; user <= USERS; user++) {
+            jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                    user, "user" + user, "user" + user + "@email.com");
+            jdbcTemplate.update("INSERT INTO requests (id, description, requester_id, created) " +
+                    "VALUES (?, 'request', ?, CURRENT_TIMESTAMP)", user, user);
+        }
+        for (int item = 1; item <= USERS * ITEMS_PER_USER; item++) {
+            long owner = item % USERS + 1;
+            jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                    "VALUES (?, 'item', 'description', TRUE, ?, ?)", item, owner, owner);
+            jdbcTemplate.update("INSERT INTO bookings (id, starts, ends, item_id, booker_id, status) " +
+                    "VALUES (?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?, 'APPROVED')", item, item, owner % USERS + 1);
+            jdbcTemplate.update("INSERT INTO comments (id, text, item_id, author_id, created) " +
+                    "VALUES (?, 'text', ?, ?, CURRENT_TIMESTAMP)", item, item, owner);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAll();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryCalls")
+    void testRepositoryQueryUsesIndex(String method, RepositoryCall call) {
+        List<RecordedStatement> statements = recorder.record(() -> call.invoke(this));
+
+        assertFalse(statements.isEmpty(), () -> method + " ran no SQL");
+        for (RecordedStatement statement : statements) {
+            String plan = explain(statement);
+            if (FULL_SCANS.contains(method)) {
+                continue;
+            }
+            assertFalse(plan != null && plan.contains("tableScan"),
+                    () -> method + " scans a table:\n" + statement.getSql() + "\n" + plan);
+        }
+    }
+
+    @Test
+    void testEveryRepositoryQueryIsExplained() {
+        Set<String> declared = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> explained = repositoryCalls()
+                .map(arguments -> (String) arguments.get()[0])
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(declared, explained);
+    }
+
+    static Stream<Arguments> repositoryCalls() {
+        Instant now = Instant.now();
+        return Stream.of(
+                call("BookingRepository.findByBooker_IdAndEndIsBefore",
+                        test -> test.bookingRepository.findByBooker_IdAndEndIsBefore(1L, now, NEWEST_FIRST)),
+                call("BookingRepository.findByBooker_IdAndStartIsAfter",
+                        test -> test.bookingRepository.findByBooker_IdAndStartIsAfter(1L, now, NEWEST_FIRST)),
+                call("BookingRepository.findByBooker_IdAndStatus",
+                        test -> test.bookingRepository.findByBooker_IdAndStatus(1L, Status.WAITING, NEWEST_FIRST)),
+                call("BookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter",
+                        test -> test.bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(1L, now, now,
+                                NEWEST_FIRST)),
+                call("BookingRepository.findByItemOwnerIdAndEndIsBefore",
+                        test -> test.bookingRepository.findByItemOwnerIdAndEndIsBefore(1L, now, NEWEST_FIRST)),
+                call("BookingRepository.findByItemOwnerIdAndStartIsAfter",
+                        test -> test.bookingRepository.findByItemOwnerIdAndStartIsAfter(1L, now, NEWEST_FIRST)),
+                call("BookingRepository.findByItemOwnerIdAndStatus",
+                        test -> test.bookingRepository.findByItemOwnerIdAndStatus(1L, Status.WAITING, NEWEST_FIRST)),
+                call("BookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter",
+                        test -> test.bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(1L, now, now,
+                                NEWEST_FIRST)),
+                call("BookingRepository.findByBooker_Id",
+                        test -> test.bookingRepository.findByBooker_Id(1L, NEWEST_FIRST)),
+                call("BookingRepository.findByItemOwnerIdOrderByStartDesc",
+                        test -> test.bookingRepository.findByItemOwnerIdOrderByStartDesc(1L, NEWEST_FIRST)),
+                call("BookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc",
+                        test -> test.bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(1L,
+                                Status.APPROVED, now)),
+                call("BookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc",
+                        test -> test.bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(1L,
+                                Status.APPROVED, now)),
+                call("BookingRepository.findByBookerAfterCursor",
+                        test -> test.bookingRepository.findByBookerAfterCursor(1L, now, 10L, PAGE)),
+                call("BookingRepository.findPastByBookerAfterCursor",
+                        test -> test.bookingRepository.findPastByBookerAfterCursor(1L, now, 10L, now, PAGE)),
+                call("BookingRepository.findFutureByBookerAfterCursor",
+                        test -> test.bookingRepository.findFutureByBookerAfterCursor(1L, now, 10L, now, PAGE)),
+                call("BookingRepository.findCurrentByBookerAfterCursor",
+                        test -> test.bookingRepository.findCurrentByBookerAfterCursor(1L, now, 10L, now, PAGE)),
+                call("BookingRepository.findByBookerAndStatusAfterCursor",
+                        test -> test.bookingRepository.findByBookerAndStatusAfterCursor(1L, now, 10L,
+                                Status.WAITING, PAGE)),
+                call("BookingRepository.findByOwnerAfterCursor",
+                        test -> test.bookingRepository.findByOwnerAfterCursor(1L, now, 10L, PAGE)),
+                call("BookingRepository.findPastByOwnerAfterCursor",
+                        test -> test.bookingRepository.findPastByOwnerAfterCursor(1L, now, 10L, now, PAGE)),
+                call("BookingRepository.findFutureByOwnerAfterCursor",
+                        test -> test.bookingRepository.findFutureByOwnerAfterCursor(1L, now, 10L, now, PAGE)),
+                call("BookingRepository.findCurrentByOwnerAfterCursor",
+                        test -> test.bookingRepository.findCurrentByOwnerAfterCursor(1L, now, 10L, now, PAGE)),
+                call("BookingRepository.findByOwnerAndStatusAfterCursor",
+                        test -> test.bookingRepository.findByOwnerAndStatusAfterCursor(1L, now, 10L,
+                                Status.WAITING, PAGE)),
+                call("BookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter",
+                        test -> test.bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(1L,
+                                Status.APPROVED, now, now)),
+                call("BookingRepository.findFirstByItemIdAndBookerIdAndStatusAndEndBefore",
+                        test -> test.bookingRepository.findFirstByItemIdAndBookerIdAndStatusAndEndBefore(1L, 2L,
+                                Status.APPROVED, now)),
+                call("BookingRepository.findLastBookings",
+                        test -> test.bookingRepository.findLastBookings(IDS, now)),
+                call("BookingRepository.findNextBookings",
+                        test -> test.bookingRepository.findNextBookings(IDS, now, Status.REJECTED)),
+                call("BookingRepository.findEndingBookings",
+                        test -> test.bookingRepository.findEndingBookings(IDS, now)),
+                call("CommentRepository.findAllByItemId",
+                        test -> test.commentRepository.findAllByItemId(1L)),
+                call("CommentRepository.countByItemId",
+                        test -> test.commentRepository.countByItemId(1L)),
+                call("CommentRepository.findAllByItemIdIn",
+                        test -> test.commentRepository.findAllByItemIdIn(IDS)),
+                call("ItemRepository.findItemsByQuery",
+                        test -> test.itemRepository.findItemsByQuery("drill", OffsetPageRequest.of(0, 10))),
+                call("ItemRepository.findItemsByQueryAndIdIn",
+                        test -> test.itemRepository.findItemsByQueryAndIdIn("drill", IDS, OffsetPageRequest.of(0, 10))),
+                call("ItemRepository.streamItemsByQuery", test -> {
+                    try (Stream<?> items = test.itemRepository.streamItemsByQuery("drill")) {
+                        items.forEach(item -> { });
+                    }
+                }),
+                call("ItemRepository.streamIndexedItems", test -> {
+                    try (Stream<?> items = test.itemRepository.streamIndexedItems()) {
+                        items.forEach(item -> { });
+                    }
+                }),
+                call("ItemRepository.findOwnerIdByItemId",
+                        test -> test.itemRepository.findOwnerIdByItemId(1L)),
+                call("ItemRepository.findByIdForUpdate",
+                        test -> test.itemRepository.findByIdForUpdate(1L)),
+                call("ItemRepository.findByItemRequestId",
+                        test -> test.itemRepository.findByItemRequestId(1L)),
+                call("ItemRepository.findByItemRequestIdIn",
+                        test -> test.itemRepository.findByItemRequestIdIn(IDS)),
+                call("ItemSummaryRepository.findAllByOwnerId",
+                        test -> test.itemSummaryRepository.findAllByOwnerId(1L)),
+                call("ItemSummaryRepository.findAllByIdForUpdate",
+                        test -> test.itemSummaryRepository.findAllByIdForUpdate(IDS)),
+                call("ItemSummaryRepository.incrementCommentCount",
+                        test -> test.itemSummaryRepository.incrementCommentCount(1L)),
+                call("ItemRequestRepository.findItemRequestByRequesterId",
+                        test -> test.itemRequestRepository.findItemRequestByRequesterId(1L)),
+                call("ItemRequestRepository.findAllByRequesterIdNotOrderByCreatedAscIdAsc",
+                        test -> test.itemRequestRepository.findAllByRequesterIdNotOrderByCreatedAscIdAsc(1L,
+                                OffsetPageRequest.of(0, 10))),
+                call("ItemRequestRepository.findOthersAfterCursor",
+                        test -> test.itemRequestRepository.findOthersAfterCursor(1L, LocalDateTime.now(), 10L, PAGE)),
+                call("UserRepository.findAllByIdGreaterThanOrderByIdAsc",
+                        test -> test.userRepository.findAllByIdGreaterThanOrderByIdAsc(5L, PAGE)),
+                call("UserRepository.streamAll", test -> {
+                    try (Stream<?> users = test.userRepository.streamAll()) {
+                        users.forEach(user -> { });
+                    }
+                }));
+    }
+
+    private static Arguments call(String method, RepositoryCall call) {
+        return Arguments.of(method, call);
+    }
+
+    /**
+     * Runs {@code EXPLAIN} on the captured statement within the test transaction, so the planner sees the
+     * seeded rows, replaying the bind calls Hibernate made on the original statement.
+     */
+    private String explain(RecordedStatement statement) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.getSql());
+            for (ParameterSetOperation operation : statement.getParameters()) {
+                try {
+                    operation.getMethod().invoke(explain, operation.getArgs());
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new SQLException("Cannot bind " + Arrays.toString(operation.getArgs()), e);
+                }
+            }
+            return explain;
+        }, resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void invoke(SchemaIndexTest test);
+    }
+
+    static class RecordedStatement {
+        private final String sql;
+        private final List<ParameterSetOperation> parameters;
+
+        RecordedStatement(String sql, List<ParameterSetOperation> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        List<ParameterSetOperation> getParameters() {
+            return parameters;
+        }
+    }
+
+    /**
+     * Keeps the statements executed while {@link #record} runs; the EXPLAINs the test issues afterwards
+     * go through the same proxy but are not recorded.
+     */
+    static class StatementRecorder implements QueryExecutionListener {
+        private List<RecordedStatement> statements;
+
+        List<RecordedStatement> record(Runnable action) {
+            statements = new ArrayList<>();
+            try {
+                action.run();
+                return statements;
+            } finally {
+                statements = null;
+            }
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (statements == null) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                        ? List.of()
+                        : List.copyOf(query.getParametersList().get(0));
+                statements.add(new RecordedStatement(query.getQuery(), parameters));
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource(StatementRecorder recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource) {
+                        return ProxyDataSourceBuilder.create((DataSource) bean)
+                                .listener(recorder)
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
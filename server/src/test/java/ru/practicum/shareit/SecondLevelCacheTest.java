@@ -0,0 +1,142 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserResolutionCounter;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({UserServiceImpl.class, UserResolutionCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final int ITEMS = 10;
+    private static final int READS = 200;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+    private Statistics statistics;
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(itemRepository.save(Item.builder()
+                    .name("item " + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testReadHeavyMixIsServedFromSecondLevelCache() {
+        long statements = runReadMix(false);
+
+        log.info("{} reads issued {} statements, {} entity and {} query cache hits", READS * 3, statements,
+                statistics.getSecondLevelCacheHitCount(), statistics.getQueryCacheHitCount());
+        assertTrue(statements <= 2 * ITEMS + 1, () -> "Too many statements: " + statements);
+    }
+
+    @Test
+    void testSecondLevelCacheSavesMostStatements() {
+        long bypassed = runReadMix(true);
+        long cached = runReadMix(false);
+
+        log.info("{} reads issued {} statements with the second-level cache and {} without it ({}% saved)",
+                READS * 3, cached, bypassed, 100 - cached * 100 / bypassed);
+        assertEquals(READS * 3, bypassed);
+        assertTrue(cached * 10 < bypassed, () -> cached + " statements with the cache, " + bypassed + " without");
+    }
+
+    @Test
+    void testUserExistenceChecksDoNotLoadUser() {
+        Long ownerId = items.get(0).getOwner().getId();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+
+        for (int i = 0; i < READS; i++) {
+            userService.checkUserExists(ownerId);
+        }
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getSecondLevelCachePutCount());
+    }
+
+    @Test
+    void testUpdateIsVisibleAfterCachedRead() {
+        Item item = items.get(0);
+        Item loaded = itemRepository.findById(item.getId()).orElseThrow();
+        loaded.setName("renamed");
+        itemRepository.save(loaded);
+
+        assertEquals("renamed", itemRepository.findById(item.getId()).orElseThrow().getName());
+    }
+
+    /**
+     * Runs the read mix and returns the statements it sent to the database. Bypassing empties every
+     * cache region before each read, so each one goes to the database as it would without the cache.
+     */
+    private long runReadMix(boolean bypassCache) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictAllRegions();
+        statistics.clear();
+        for (int i = 0; i < READS; i++) {
+            Item item = items.get(i % ITEMS);
+            if (bypassCache) {
+                cache.evictAllRegions();
+            }
+            assertEquals(item.getName(), itemRepository.findById(item.getId()).orElseThrow().getName());
+            if (bypassCache) {
+                cache.evictAllRegions();
+            }
+            assertEquals(item.getOwner().getId(), itemRepository.findOwnerIdByItemId(item.getId()).orElseThrow());
+            if (bypassCache) {
+                cache.evictAllRegions();
+            }
+            userRepository.findById(item.getOwner().getId()).orElseThrow();
+        }
+        return statistics.getPrepareStatementCount();
+    }
+}
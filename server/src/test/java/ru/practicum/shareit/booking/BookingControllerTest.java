@@ -14,20 +14,26 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -70,6 +76,7 @@ class BookingControllerTest {
         bookingDto = BookingDto.builder()
                 .id(1L)
                 .start(LocalDateTime.now().plusWeeks(1))
+                .startInstant(Instant.now().plus(7, ChronoUnit.DAYS))
                 .end(LocalDateTime.now().plusWeeks(2))
                 .booker(UserMapper.toUserDto(booker))
                 .itemId(1L)
@@ -223,4 +230,99 @@ class BookingControllerTest {
                 .getItemsBookings(userId, state, from, size);
 
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void getBookingsOfUserReturnsNextCursorForFullPage() {
+        Long userId = booker.getId();
+        PageCursor cursor = PageCursor.of(Instant.parse("2030-01-01T12:00:00Z"), 7L);
+
+        when(bookingService.getUserBookings(userId, State.ALL, cursor, 1))
+                .thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1")
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        PageCursor.of(bookingDto.getStartInstant(), bookingDto.getId()).encode()));
+
+        verify(bookingService, never())
+                .getUserBookings(anyLong(), any(State.class), anyInt(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingsOfUserWithIdOnlyCursor() {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("cursor", PageCursor.of(3L).encode()))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never())
+                .getUserBookings(anyLong(), any(State.class), any(PageCursor.class), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingsByItemOwnerWithIdOnlyCursor() {
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("cursor", PageCursor.of(3L).encode()))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never())
+                .getItemsBookings(anyLong(), any(State.class), any(PageCursor.class), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingsByItemOwnerWithInvalidCursor() {
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never())
+                .getItemsBookings(anyLong(), any(State.class), any(PageCursor.class), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingsOfUserWithZeroSizeOnBothPaths() {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("size", "0")
+                        .param("cursor", PageCursor.of(Instant.parse("2030-01-01T12:00:00Z"), 7L).encode()))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never())
+                .getUserBookings(anyLong(), any(State.class), anyInt(), anyInt());
+        verify(bookingService, never())
+                .getUserBookings(anyLong(), any(State.class), any(PageCursor.class), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingsByItemOwnerWithInvalidPageOnBothPaths() {
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("size", "0")
+                        .param("cursor", PageCursor.of(Instant.parse("2030-01-01T12:00:00Z"), 7L).encode()))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never())
+                .getItemsBookings(anyLong(), any(State.class), anyInt(), anyInt());
+        verify(bookingService, never())
+                .getItemsBookings(anyLong(), any(State.class), any(PageCursor.class), anyInt());
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingApprovalConcurrencyTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookings);
+        itemRepository.deleteAll(items);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void testOverlappingBookingsCannotBeApprovedConcurrently() throws Exception {
+        User owner = createUser("owner");
+        User booker = createUser("booker");
+        Item item = itemRepository.save(Item.builder()
+                .name("drill")
+                .description("concurrency")
+                .available(true)
+                .owner(owner)
+                .build());
+        items.add(item);
+        Instant start = Instant.now().plus(1, ChronoUnit.DAYS);
+        Booking first = createWaitingBooking(item, booker, start, start.plus(2, ChronoUnit.DAYS));
+        Booking second = createWaitingBooking(item, booker, start.plus(1, ChronoUnit.DAYS),
+                start.plus(3, ChronoUnit.DAYS));
+
+        CountDownLatch firstApproved = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> firstApproval = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                bookingService.approve(owner.getId(), first.getId(), "true");
+                firstApproved.countDown();
+                awaitQuietly(commitFirst);
+            }));
+            assertTrue(firstApproved.await(5, TimeUnit.SECONDS));
+
+            Future<BookingDto> secondApproval = executor.submit(() ->
+                    bookingService.approve(owner.getId(), second.getId(), "true"));
+            assertThrows(TimeoutException.class, () -> secondApproval.get(200, TimeUnit.MILLISECONDS),
+                    "The second approval must wait for the item lock held by the first");
+
+            commitFirst.countDown();
+            firstApproval.get(5, TimeUnit.SECONDS);
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> secondApproval.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(BadRequestException.class, exception.getCause());
+        } finally {
+            commitFirst.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(Status.APPROVED, bookingRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(Status.WAITING, bookingRepository.findById(second.getId()).orElseThrow().getStatus());
+    }
+
+    private User createUser(String name) {
+        User user = userRepository.save(User.builder()
+                .name(name)
+                .email(name + "@concurrency.test")
+                .build());
+        users.add(user);
+        return user;
+    }
+
+    private Booking createWaitingBooking(Item item, User booker, Instant start, Instant end) {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(Status.WAITING)
+                .build());
+        bookings.add(booking);
+        return booking;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
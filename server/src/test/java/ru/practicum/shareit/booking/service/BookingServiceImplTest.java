@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.BookingMapper;
@@ -16,12 +17,14 @@ import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemSummaryService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
@@ -51,6 +54,10 @@ class BookingServiceImplTest {
     @Mock
     private ItemService itemService;
     @Mock
+    private ItemSummaryService itemSummaryService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private UserServiceImpl userServiceImpl;
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -122,7 +129,7 @@ class BookingServiceImplTest {
         assertThat(savedDto.getStatus(), equalTo(Status.WAITING));
         assertThat(savedDto, equalTo(BookingMapper.toBookingDto(booking)));
         verify(itemService).getItemOrElseThrow(item.getId());
-
+        verify(itemSummaryService).refresh(List.of(item.getId()));
     }
 
     @Test
@@ -161,6 +168,46 @@ class BookingServiceImplTest {
                 .save(booking);
     }
 
+    @Test
+    void testCreateBookingWhenItemAlreadyBooked() {
+        booking.setStatus(Status.WAITING);
+
+        when(userServiceImpl.getUserOrElseThrow(booker.getId()))
+                .thenReturn(booker);
+        when(itemService.getItemOrElseThrow(item.getId()))
+                .thenReturn(item);
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), Status.APPROVED,
+                booking.getEnd(), booking.getStart()))
+                .thenReturn(true);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                bookingService.create(booker.getId(), BookingMapper.toBookingDto(booking)));
+
+        assertEquals("Item is already booked for the requested period", exception.getMessage());
+        verify(bookingRepository, never())
+                .save(any());
+    }
+
+    @Test
+    void testApproveBookingWhenItemAlreadyBooked() {
+        booking.setStatus(Status.WAITING);
+
+        when(userServiceImpl.getUserOrElseThrow(owner.getId()))
+                .thenReturn(owner);
+        when(bookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), Status.APPROVED,
+                booking.getEnd(), booking.getStart()))
+                .thenReturn(true);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () ->
+                bookingService.approve(owner.getId(), booking.getId(), "true"));
+
+        assertEquals("Item is already booked for the requested period", exception.getMessage());
+        verify(bookingRepository, never())
+                .save(any());
+    }
+
     @Test
     void testApproveBooking() {
         booking.setStatus(Status.WAITING);
@@ -255,6 +302,39 @@ class BookingServiceImplTest {
         verify(bookingRepository).findByBooker_Id(anyLong(), any());
     }
 
+    @Test
+    void testGetUserBookingsAfterCursor() {
+        Instant position = Instant.now();
+        PageCursor cursor = PageCursor.of(position, 5L);
+
+        when(userServiceImpl.getUserOrElseThrow(booker.getId()))
+                .thenReturn(booker);
+        when(bookingRepository.findByBookerAfterCursor(booker.getId(), position, 5L,
+                PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking));
+
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), ALL, cursor, 2);
+
+        assertEquals(1, result.size());
+        verify(bookingRepository, never()).findByBooker_Id(anyLong(), any());
+    }
+
+    @Test
+    void testGetItemsBookingsAfterCursorWithStatus() {
+        Instant position = Instant.now();
+        PageCursor cursor = PageCursor.of(position, 5L);
+
+        when(userServiceImpl.getUserOrElseThrow(owner.getId()))
+                .thenReturn(owner);
+        when(bookingRepository.findByOwnerAndStatusAfterCursor(owner.getId(), position, 5L,
+                Status.WAITING, PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking));
+
+        List<BookingDto> result = bookingService.getItemsBookings(owner.getId(), WAITING, cursor, 2);
+
+        assertEquals(1, result.size());
+    }
+
     @Test
     void testGetUserBookingsStatePast() {
         State state = PAST;
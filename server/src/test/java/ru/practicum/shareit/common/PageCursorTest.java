@@ -0,0 +1,67 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void testInstantsInDstFallBackHourKeepDistinctCursors() {
+        ZoneId berlin = ZoneId.of("Europe/Berlin");
+        Instant firstPass = Instant.parse("2030-10-27T00:30:00Z");
+        Instant secondPass = Instant.parse("2030-10-27T01:30:00Z");
+        assertEquals(LocalDateTime.ofInstant(firstPass, berlin), LocalDateTime.ofInstant(secondPass, berlin));
+
+        PageCursor first = PageCursor.decode(PageCursor.of(firstPass, 7L).encode());
+        PageCursor second = PageCursor.decode(PageCursor.of(secondPass, 7L).encode());
+
+        assertEquals(firstPass, first.getPosition());
+        assertEquals(secondPass, second.getPosition());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void testRoundTripKeepsNanos() {
+        PageCursor cursor = PageCursor.of(Instant.ofEpochSecond(1_900_000_000L, 123_456_789), 42L);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testIdOnlyCursorHasNoPosition() {
+        PageCursor cursor = PageCursor.decode(PageCursor.of(5L).encode());
+
+        assertNull(cursor.getPosition());
+        assertEquals(5L, cursor.getId());
+    }
+
+    @Test
+    void testTimestampFeedsRejectIdOnlyCursor() {
+        String idOnly = PageCursor.of(5L).encode();
+
+        assertThrows(BadRequestException.class, () -> PageCursor.decodeWithPosition(idOnly));
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not-a-cursor"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encode("1|2")));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encode("1|1000000000|2")));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encode("2030-01-01T12:00|7")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -7,8 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -16,10 +18,14 @@ import ru.practicum.shareit.item.service.ItemService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -111,6 +117,30 @@ class ItemControllerTest {
                 .getById(userId, itemId);
     }
 
+    @SneakyThrows
+    @Test
+    void testGetItemByIdAnswersMatchingEtagWithNotModified() {
+        Long itemId = 1L;
+        Long userId = 0L;
+
+        when(itemService.getById(userId, itemId))
+                .thenReturn(itemDto);
+
+        String etag = mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @SneakyThrows
     @Test
     void addComment() {
@@ -168,7 +198,7 @@ class ItemControllerTest {
     void testGetByQuery() {
         String query = "query";
 
-        when(itemService.getByQuery(query))
+        when(itemService.getByQuery(query, 0, 10))
                 .thenReturn(List.of(itemDto));
 
         String contentAsString = mockMvc.perform(MockMvcRequestBuilders.get(("/items/search"))
@@ -184,7 +214,40 @@ class ItemControllerTest {
 
         assertEquals(objectMapper.writeValueAsString(result), contentAsString);
         verify(itemService)
-                .getByQuery(query);
+                .getByQuery(query, 0, 10);
+    }
+
+    @SneakyThrows
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamByQueryWritesNdjson() {
+        String query = "query";
+        ItemDto secondItemDto = ItemDto.builder()
+                .id(2L)
+                .name("second")
+                .build();
+
+        doAnswer(invocation -> {
+            Consumer<ItemDto> consumer = invocation.getArgument(1);
+            consumer.accept(itemDto);
+            consumer.accept(secondItemDto);
+            return null;
+        }).when(itemService).streamByQuery(eq(query), any(Consumer.class));
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/items/search/stream")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("text", query))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String contentAsString = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(itemDto) + "\n"
+                + objectMapper.writeValueAsString(secondItemDto) + "\n", contentAsString);
     }
 
     @SneakyThrows
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemViewCacheTest {
+
+    private static final long ITEM_ID = 1L;
+    private static final long OWNER_ID = 10L;
+    private static final long VIEWER_ID = 20L;
+
+    private ItemViewCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemViewCache(100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testOwnerAndViewerGetSeparateEntries() {
+        ItemDto ownerView = cache.get(ITEM_ID, OWNER_ID, () -> load("owner", null));
+        ItemDto viewerView = cache.get(ITEM_ID, VIEWER_ID, () -> load("viewer", null));
+
+        assertEquals("owner", cache.get(ITEM_ID, OWNER_ID, () -> load("other", null)).getName());
+        assertEquals("viewer", cache.get(ITEM_ID, VIEWER_ID, () -> load("other", null)).getName());
+        assertEquals("owner", ownerView.getName());
+        assertEquals("viewer", viewerView.getName());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEntryExpiresAtRefreshBoundary() {
+        cache.get(ITEM_ID, OWNER_ID, () -> load("owner", Instant.now().minusSeconds(1)));
+        cache.get(ITEM_ID, OWNER_ID, () -> load("owner", null));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testChangeEventEvictsAllRoles() {
+        cache.get(ITEM_ID, OWNER_ID, () -> load("owner", null));
+        cache.get(ITEM_ID, VIEWER_ID, () -> load("viewer", null));
+
+        cache.onItemChanged(new ItemChangedEvent(ITEM_ID));
+        cache.get(ITEM_ID, OWNER_ID, () -> load("owner", null));
+        cache.get(ITEM_ID, VIEWER_ID, () -> load("viewer", null));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testViewLoadedDuringEvictionIsNotStored() {
+        cache.get(ITEM_ID, VIEWER_ID, () -> {
+            cache.onItemChanged(new ItemChangedEvent(ITEM_ID));
+            return load("stale", null);
+        });
+        ItemDto view = cache.get(ITEM_ID, VIEWER_ID, () -> load("fresh", null));
+
+        assertEquals("fresh", view.getName());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testViewLoadedDuringEvictionIsNotStoredOnceOwnerIsKnown() throws Exception {
+        cache.get(ITEM_ID, VIEWER_ID, () -> load("viewer", null));
+        cache.onItemChanged(new ItemChangedEvent(ITEM_ID));
+        Thread[] eviction = new Thread[1];
+
+        ItemDto stale = cache.get(ITEM_ID, VIEWER_ID, () -> {
+            long generation = cache.generation(ITEM_ID);
+            eviction[0] = new Thread(() -> cache.onItemChanged(new ItemChangedEvent(ITEM_ID)));
+            eviction[0].start();
+            while (cache.generation(ITEM_ID) == generation) {
+                Thread.onSpinWait();
+            }
+            return load("stale", null);
+        });
+        eviction[0].join(5_000);
+        ItemDto view = cache.get(ITEM_ID, VIEWER_ID, () -> load("fresh", null));
+
+        assertEquals("stale", stale.getName());
+        assertEquals("fresh", view.getName());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        cache.get(ITEM_ID, VIEWER_ID, () -> load("viewer", null));
+        cache.onItemChanged(new ItemChangedEvent(ITEM_ID));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ItemDto[] views = new ItemDto[2];
+        Thread first = new Thread(() -> views[0] = cache.get(ITEM_ID, VIEWER_ID, () -> {
+            loading.countDown();
+            awaitQuietly(release);
+            return load("viewer", null);
+        }));
+        Thread second = new Thread(() -> views[1] = cache.get(ITEM_ID, VIEWER_ID, () -> load("other", null)));
+        try {
+            first.start();
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            second.start();
+            while (second.getState() != Thread.State.BLOCKED && second.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        } finally {
+            release.countDown();
+        }
+        first.join(5_000);
+        second.join(5_000);
+
+        assertEquals("viewer", views[0].getName());
+        assertEquals("viewer", views[1].getName());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testHitsAndMissesAreExposedAsMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(ITEM_ID, VIEWER_ID, () -> load("viewer", null));
+        cache.get(ITEM_ID, VIEWER_ID, () -> load("viewer", null));
+
+        assertEquals(1, registry.get("cache.gets").tag("cache", "itemViews").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    private ItemView load(String name, Instant refreshAt) {
+        loads.incrementAndGet();
+        return new ItemView(OWNER_ID, ItemDto.builder().id(ITEM_ID).name(name).build(), refreshAt);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class ItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private ItemRepository itemRepository;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(User.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+    }
+
+    @Test
+    void testFindItemsByQuerySkipsUnavailableItems() {
+        persistItem("Дрель", "Простая дрель", true);
+        persistItem("Отвертка", "Аккумуляторная дрель", false);
+
+        List<String> names = names(itemRepository.findItemsByQuery("дрель", OffsetPageRequest.of(0, 10)));
+
+        assertEquals(List.of("Дрель"), names);
+    }
+
+    @Test
+    void testFindItemsByQueryRanksNameMatchesFirst() {
+        persistItem("Набор", "Дрель и биты", true);
+        persistItem("Дрель ударная", "Мощная", true);
+        persistItem("Дрель", "Простая", true);
+        persistItem("Мини-дрель", "Для гравировки", true);
+
+        List<String> names = names(itemRepository.findItemsByQuery("дрель", OffsetPageRequest.of(0, 10)));
+
+        assertEquals(List.of("Дрель", "Дрель ударная", "Мини-дрель", "Набор"), names);
+    }
+
+    @Test
+    void testFindItemsByQueryAppliesOffsetAndSize() {
+        for (int i = 0; i < 5; i++) {
+            persistItem("Дрель " + i, "description", true);
+        }
+
+        List<String> names = names(itemRepository.findItemsByQuery("дрель", OffsetPageRequest.of(3, 2)));
+
+        assertEquals(List.of("Дрель 3", "Дрель 4"), names);
+    }
+
+    @Test
+    void testFindItemsByQueryAndIdInChecksOnlyCandidates() {
+        Long set = persistItem("Набор", "Дрель и биты", true);
+        persistItem("Дрель", "Простая", true);
+        Long glue = persistItem("Клей", "Лейка", true);
+        Long drill = persistItem("Мини-дрель", "Для гравировки", true);
+
+        List<String> names = names(itemRepository.findItemsByQueryAndIdIn("дрель", List.of(set, glue, drill),
+                OffsetPageRequest.of(0, 10)));
+
+        assertEquals(List.of("Мини-дрель", "Набор"), names);
+    }
+
+    @Test
+    void testStreamItemsByQueryKeepsSearchOrder() {
+        persistItem("Набор", "Дрель и биты", true);
+        persistItem("Дрель", "Простая", true);
+        persistItem("Отвертка", "Аккумуляторная дрель", false);
+
+        List<String> names;
+        try (Stream<Item> items = itemRepository.streamItemsByQuery("дрель")) {
+            names = names(items.collect(Collectors.toList()));
+        }
+
+        assertEquals(List.of("Дрель", "Набор"), names);
+    }
+
+    private Long persistItem(String name, String description, boolean available) {
+        return em.persist(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build()).getId();
+    }
+
+    private List<String> names(List<Item> items) {
+        return items.stream()
+                .map(Item::getName)
+                .collect(Collectors.toList());
+    }
+}
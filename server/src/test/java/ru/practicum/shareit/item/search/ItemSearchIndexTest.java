@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(true, itemRepository, TransactionOperations.withoutTransaction());
+        when(itemRepository.streamIndexedItems())
+                .thenReturn(Stream.of(
+                        new IndexedItem(1L, "Набор", "Дрель и биты"),
+                        new IndexedItem(2L, "Дрель ударная", "Мощная"),
+                        new IndexedItem(3L, "Дрель", "Простая"),
+                        new IndexedItem(4L, "Мини-дрель", "Для гравировки")));
+        index.rebuild();
+    }
+
+    @Test
+    void testCandidatesHoldEveryTrigramOfQuery() {
+        assertEquals(Optional.of(List.of(1L, 2L, 3L, 4L)), index.findCandidates("дрель"));
+        assertEquals(Optional.of(List.of(2L)), index.findCandidates("удар"));
+        assertEquals(Optional.of(List.of()), index.findCandidates("перфоратор"));
+    }
+
+    @Test
+    void testCandidatesAreLeftForDatabaseToCheckAsSubstring() {
+        index.onItemSaved(new ItemSavedEvent(5L, "Клей", "Лейка", true, true));
+
+        assertEquals(Optional.of(List.of(5L)), index.findCandidates("клейка"));
+    }
+
+    @Test
+    void testSavedAndDeletedEventsUpdateIndex() {
+        index.onItemSaved(new ItemSavedEvent(5L, "Перфоратор", "Почти дрель", true, true));
+        index.onItemSaved(new ItemSavedEvent(3L, "Дрель", "Простая", false, false));
+        index.onItemSaved(new ItemSavedEvent(1L, "Набор бит", "Без инструмента", true, false));
+        index.onItemDeleted(new ItemDeletedEvent(2L));
+
+        assertEquals(Optional.of(List.of(4L, 5L)), index.findCandidates("дрель"));
+        assertEquals(Optional.of(List.of(1L)), index.findCandidates("набор"));
+    }
+
+    @Test
+    void testUpdateDropsOnlyTrigramsItemNoLongerHas() {
+        index.onItemSaved(new ItemSavedEvent(2L, "Дрель", "Ударная", true, false));
+        index.onItemSaved(new ItemSavedEvent(2L, "Шуруповёрт", "Ударный", true, false));
+
+        assertEquals(Optional.of(List.of(1L, 3L, 4L)), index.findCandidates("дрель"));
+        assertEquals(Optional.of(List.of(2L)), index.findCandidates("шуруп"));
+        assertEquals(Optional.of(List.of(2L)), index.findCandidates("ударн"));
+    }
+
+    @Test
+    void testNoCandidatesForShortQueriesOrDisabledIndex() {
+        assertTrue(index.findCandidates("дре").isPresent());
+        assertFalse(index.findCandidates(" др ").isPresent());
+        assertFalse(new ItemSearchIndex(false, itemRepository, TransactionOperations.withoutTransaction())
+                .findCandidates("дрель").isPresent());
+    }
+
+    @Test
+    void testNoCandidatesWhenIndexWouldNotNarrowSearch() {
+        for (long id = 5; id <= ItemSearchIndex.MAX_CANDIDATES + 4; id++) {
+            index.onItemSaved(new ItemSavedEvent(id, "Дрель " + id, "", true, true));
+        }
+
+        assertEquals(Optional.empty(), index.findCandidates("дрель"));
+        assertEquals(Optional.of(List.of(2L)), index.findCandidates("удар"));
+    }
+}
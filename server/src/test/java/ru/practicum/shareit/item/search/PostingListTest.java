@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTest {
+
+    @Test
+    void testKeepsIdsSortedAndUnique() {
+        PostingList list = new PostingList();
+        list.add(10);
+        list.add(3_000_000_000L);
+        list.add(7);
+        list.add(10);
+        list.add(200);
+
+        assertArrayEquals(new long[]{7, 10, 200, 3_000_000_000L}, list.toArray());
+        assertEquals(4, list.size());
+        assertTrue(list.contains(200));
+        assertFalse(list.contains(201));
+    }
+
+    @Test
+    void testRemove() {
+        PostingList list = new PostingList();
+        list.add(1);
+        list.add(5);
+        list.add(9);
+
+        list.remove(5);
+        list.remove(6);
+
+        assertArrayEquals(new long[]{1, 9}, list.toArray());
+        list.remove(1);
+        list.remove(9);
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void testInsertAndRemoveAcrossMultiByteGaps() {
+        PostingList list = new PostingList();
+        list.add(1);
+        list.add(1_000_000);
+        list.add(2_000_000);
+        list.add(500);
+        list.add(999_999);
+
+        assertArrayEquals(new long[]{1, 500, 999_999, 1_000_000, 2_000_000}, list.toArray());
+        list.remove(500);
+        list.remove(1_000_000);
+        assertArrayEquals(new long[]{1, 999_999, 2_000_000}, list.toArray());
+        list.remove(2_000_000);
+        list.add(3);
+        assertArrayEquals(new long[]{1, 3, 999_999}, list.toArray());
+        assertFalse(list.contains(2_000_000));
+    }
+
+    @Test
+    void testRetainAll() {
+        PostingList list = new PostingList();
+        for (long id = 1; id <= 20; id += 3) {
+            list.add(id);
+        }
+
+        assertArrayEquals(new long[]{4, 13, 19}, list.retainAll(new long[]{2, 4, 5, 13, 19, 25}));
+        assertArrayEquals(new long[0], list.retainAll(new long[]{2, 3}));
+    }
+
+    @Test
+    void testStoresSmallGapsInOneByte() {
+        PostingList list = new PostingList();
+        for (long id = 1_000; id < 1_100; id++) {
+            list.add(id);
+        }
+        list.trim();
+
+        assertEquals(101, list.sizeInBytes());
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.cache.ItemViewCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserResolutionCounter;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, ItemSummaryServiceImpl.class, UserServiceImpl.class, UserResolutionCounter.class,
+        ItemSearchIndex.class, ItemViewCache.class})
+class ItemServiceImplQueryCountTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemSummaryService itemSummaryService;
+    private Statistics statistics;
+    private int userCounter;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetAllByUserIdIssuesConstantNumberOfStatements() {
+        User smallOwner = createOwnerWithItems(1);
+        User bigOwner = createOwnerWithItems(20);
+        em.flush();
+        em.clear();
+
+        long smallOwnerStatements = countStatements(smallOwner.getId(), 1);
+        long bigOwnerStatements = countStatements(bigOwner.getId(), 20);
+
+        assertEquals(smallOwnerStatements, bigOwnerStatements);
+    }
+
+    private long countStatements(Long ownerId, int expectedItems) {
+        em.clear();
+        statistics.clear();
+
+        List<ItemDto> items = itemService.getAllByUserId(ownerId);
+
+        assertEquals(expectedItems, items.size());
+        for (ItemDto item : items) {
+            assertNotNull(item.getLastBooking());
+            assertNotNull(item.getNextBooking());
+            assertEquals(1, item.getComments().size());
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User createOwnerWithItems(int itemCount) {
+        User owner = createUser();
+        Instant now = Instant.now();
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            Item item = em.persist(Item.builder()
+                    .name("item")
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            User booker = createUser();
+            em.persist(booking(item, booker, now.minus(2, ChronoUnit.DAYS), now.minus(1, ChronoUnit.DAYS)));
+            em.persist(booking(item, booker, now.plus(1, ChronoUnit.DAYS), now.plus(2, ChronoUnit.DAYS)));
+            em.persist(Comment.builder()
+                    .text("comment")
+                    .item(item)
+                    .author(booker)
+                    .created(now)
+                    .build());
+            itemIds.add(item.getId());
+        }
+        itemSummaryService.refresh(itemIds);
+        return owner;
+    }
+
+    private User createUser() {
+        userCounter++;
+        return em.persist(User.builder()
+                .name("user" + userCounter)
+                .email("user" + userCounter + "@email.com")
+                .build());
+    }
+
+    private Booking booking(Item item, User booker, Instant start, Instant end) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(Status.APPROVED)
+                .build();
+    }
+}
@@ -5,30 +5,40 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import javax.persistence.EntityManager;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -46,6 +56,16 @@ class ItemServiceImplTest {
     private UserServiceImpl userServiceImpl;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ItemSummaryService itemSummaryService;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Spy
+    private ItemViewCache itemViewCache = new ItemViewCache(100, Duration.ofMinutes(10));
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EntityManager entityManager;
     @InjectMocks
     private ItemServiceImpl itemServiceImpl;
     private User owner;
@@ -117,6 +137,10 @@ class ItemServiceImplTest {
 
         ItemDto returnedItem = itemServiceImpl.create(owner.getId(), ItemMapper.toItemDto(item));
 
+        verify(eventPublisher).publishEvent(new ItemSavedEvent(item.getId(), item.getName(),
+                item.getDescription(), item.getAvailable(), true));
+        verify(itemSummaryService).addItem(item);
+
         assertEquals(returnedItem.getId(), 1L);
         assertEquals(returnedItem.getName(), "item");
         verify(itemRepository, times(1))
@@ -142,18 +166,16 @@ class ItemServiceImplTest {
 
         verify(commentRepository, times(1))
                 .save(any(Comment.class));
+        verify(itemSummaryService).addComment(item.getId());
     }
 
     @Test
     void testUpdateItem() {
-        when(userServiceImpl.getUserOrElseThrow(owner.getId()))
-                .thenReturn(owner);
-
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
 
         when(itemRepository.findOwnerIdByItemId(item.getId()))
-                .thenReturn(Optional.of(item.getId()));
+                .thenReturn(Optional.of(owner.getId()));
 
         when(itemRepository.save(item))
                 .thenReturn(item);
@@ -168,20 +190,17 @@ class ItemServiceImplTest {
 
     @Test
     void testUpdateItemWhenUserDoseNotOwn() {
-        item.getOwner().setId(0L);
-        when(userServiceImpl.getUserOrElseThrow(owner.getId()))
-                .thenReturn(owner);
-
+        Long strangerId = 2L;
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
 
         when(itemRepository.findOwnerIdByItemId(item.getId()))
-                .thenReturn(Optional.of(item.getId()));
+                .thenReturn(Optional.of(owner.getId()));
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
-                itemServiceImpl.update(owner.getId(), ItemMapper.toItemDto(item), item.getId()));
+                itemServiceImpl.update(strangerId, ItemMapper.toItemDto(item), item.getId()));
 
-        assertEquals("User with id 0 does not own item with id 1",
+        assertEquals("User with id 2 does not own item with id 1",
                 exception.getMessage());
         verify(itemRepository, never())
                 .save(item);
@@ -208,6 +227,22 @@ class ItemServiceImplTest {
 
     }
 
+    @Test
+    void testGetByIdServesRepeatedCallsFromCacheUntilItemChanges() {
+        item.setOwner(owner);
+
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+
+        itemServiceImpl.getById(booker.getId(), item.getId());
+        itemServiceImpl.getById(booker.getId(), item.getId());
+        itemViewCache.onItemChanged(new ItemChangedEvent(item.getId()));
+        itemServiceImpl.getById(booker.getId(), item.getId());
+
+        verify(itemRepository, times(2))
+                .findById(item.getId());
+    }
+
     @Test
     void testGetByIdWhenCommentListIsEmpty() {
         List<Comment> comments = new ArrayList<>();
@@ -228,9 +263,9 @@ class ItemServiceImplTest {
     void testGetByWhenQueryIsBlank() {
         String query = "";
 
-        itemServiceImpl.getByQuery(query);
+        itemServiceImpl.getByQuery(query, 0, 10);
 
-        verify(itemRepository, never()).findItemsByQuery(anyString());
+        verify(itemRepository, never()).findItemsByQuery(anyString(), any());
     }
 
     @Test
@@ -242,14 +277,59 @@ class ItemServiceImplTest {
         Item secondItem = Item.builder().id(2L).name("Qu").description("Query").build();
         items.add(secondItem);
 
-        when(itemRepository.findItemsByQuery(query))
+        when(itemRepository.findItemsByQuery(query, OffsetPageRequest.of(0, 10)))
                 .thenReturn(items);
 
-        List<ItemDto> result = itemServiceImpl.getByQuery(query);
+        List<ItemDto> result = itemServiceImpl.getByQuery(query, 0, 10);
 
         assertEquals(result.size(), 2);
         verify(itemRepository)
-                .findItemsByQuery(query.toLowerCase());
+                .findItemsByQuery(query.toLowerCase(), OffsetPageRequest.of(0, 10));
+    }
+
+    @Test
+    void testGetByQueryChecksSearchIndexCandidatesInDatabase() {
+        String query = "query";
+        Item firstItem = Item.builder().id(1L).name("Query").build();
+        Item secondItem = Item.builder().id(2L).name("Qu").description("Query").build();
+
+        when(itemSearchIndex.findCandidates(query))
+                .thenReturn(Optional.of(List.of(1L, 2L, 5L)));
+        when(itemRepository.findItemsByQueryAndIdIn(query, List.of(1L, 2L, 5L), OffsetPageRequest.of(0, 10)))
+                .thenReturn(List.of(firstItem, secondItem));
+
+        List<ItemDto> result = itemServiceImpl.getByQuery(query, 0, 10);
+
+        assertEquals(List.of(1L, 2L), List.of(result.get(0).getId(), result.get(1).getId()));
+        verify(itemRepository, never()).findItemsByQuery(anyString(), any());
+    }
+
+    @Test
+    void testGetByQuerySkipsDatabaseWithoutSearchIndexCandidates() {
+        String query = "query";
+
+        when(itemSearchIndex.findCandidates(query))
+                .thenReturn(Optional.of(List.of()));
+
+        assertEquals(List.of(), itemServiceImpl.getByQuery(query, 0, 10));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void testStreamByQueryMapsAndDetachesEachItem() {
+        String query = " query ";
+        Item firstItem = Item.builder().id(1L).name("Query").build();
+        Item secondItem = Item.builder().id(2L).name("Qu").description("Query").build();
+        List<ItemDto> result = new ArrayList<>();
+
+        when(itemRepository.streamItemsByQuery("query"))
+                .thenReturn(Stream.of(firstItem, secondItem));
+
+        itemServiceImpl.streamByQuery(query, result::add);
+
+        assertEquals(List.of(ItemMapper.toItemDto(firstItem), ItemMapper.toItemDto(secondItem)), result);
+        verify(entityManager).detach(firstItem);
+        verify(entityManager).detach(secondItem);
     }
 
     @Test
@@ -274,16 +354,35 @@ class ItemServiceImplTest {
 
     @Test
     void testGetAllByUserId() {
-        List<Item> items = new ArrayList<>();
-        items.add(item);
-        when(userServiceImpl.getUserById(booker.getId()))
-                .thenReturn(UserMapper.toUserDto(booker));
+        ItemSummary summary = ItemSummary.builder()
+                .itemId(item.getId())
+                .item(item)
+                .commentCount(1)
+                .build();
+        when(itemSummaryService.getOwnerSummaries(owner.getId()))
+                .thenReturn(List.of(summary));
 
-        when(itemRepository.findAllByOwnerIdOrderByIdAsc(owner.getId()))
-                .thenReturn(items);
+        List<ItemDto> itemDtos = itemServiceImpl.getAllByUserId(owner.getId());
+
+        assertEquals(List.of(item.getId()), List.of(itemDtos.get(0).getId()));
+        verify(commentRepository, times(1))
+                .findAllByItemIdIn(List.of(item.getId()));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testGetAllByUserIdSkipsCommentsQueryWithoutComments() {
+        ItemSummary summary = ItemSummary.builder()
+                .itemId(item.getId())
+                .item(item)
+                .build();
+
+        when(itemSummaryService.getOwnerSummaries(owner.getId()))
+                .thenReturn(List.of(summary));
 
         List<ItemDto> itemDtos = itemServiceImpl.getAllByUserId(owner.getId());
 
-        assertNotNull(itemDtos);
+        assertEquals(Collections.emptyList(), itemDtos.get(0).getComments());
+        verify(commentRepository, never()).findAllByItemIdIn(any());
     }
-}
\ No newline at end of file
+}
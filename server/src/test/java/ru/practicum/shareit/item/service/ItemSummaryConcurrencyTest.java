@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSummaryRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ItemSummaryConcurrencyTest {
+
+    @Autowired
+    private ItemSummaryService itemSummaryService;
+    @Autowired
+    private ItemSummaryRepository itemSummaryRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@summary-concurrency.test")
+                .build());
+        item = new TransactionTemplate(transactionManager).execute(status -> {
+            Item saved = itemRepository.save(Item.builder()
+                    .name("drill")
+                    .description("concurrency")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            itemSummaryRepository.save(ItemSummary.builder()
+                    .item(saved)
+                    .refreshAt(Instant.now().minus(1, ChronoUnit.MINUTES))
+                    .build());
+            return saved;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemSummaryRepository.deleteById(item.getId());
+        itemRepository.delete(item);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void testStaleRefreshWaitsForLockAndKeepsConcurrentCommentCount() throws Exception {
+        CountDownLatch commented = new CountDownLatch(1);
+        CountDownLatch commitComment = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> comment = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                itemSummaryService.addComment(item.getId());
+                commented.countDown();
+                awaitQuietly(commitComment);
+            }));
+            assertTrue(commented.await(5, TimeUnit.SECONDS));
+
+            Future<List<ItemSummary>> summaries = executor.submit(() ->
+                    itemSummaryService.getOwnerSummaries(owner.getId()));
+            assertThrows(TimeoutException.class, () -> summaries.get(200, TimeUnit.MILLISECONDS),
+                    "The stale refresh must wait for the summary row held by the comment");
+
+            commitComment.countDown();
+            comment.get(5, TimeUnit.SECONDS);
+            assertEquals(1, summaries.get(5, TimeUnit.SECONDS).get(0).getCommentCount());
+        } finally {
+            commitComment.countDown();
+            executor.shutdownNow();
+        }
+
+        ItemSummary summary = itemSummaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(1, summary.getCommentCount());
+        assertNull(summary.getRefreshAt());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@Import(ItemSummaryServiceImpl.class)
+class ItemSummaryServiceImplTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private ItemSummaryService itemSummaryService;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(User.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+        booker = em.persist(User.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+        item = em.persist(Item.builder()
+                .name("item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        now = Instant.now();
+    }
+
+    @Test
+    void testRefreshStoresBookingsAndNextBoundary() {
+        Booking last = persistBooking(now.minus(2, ChronoUnit.DAYS), now.minus(1, ChronoUnit.DAYS));
+        Booking next = persistBooking(now.plus(1, ChronoUnit.DAYS), now.plus(2, ChronoUnit.DAYS));
+
+        itemSummaryService.refresh(List.of(item.getId()));
+        ItemSummary summary = itemSummaryService.getOwnerSummaries(owner.getId()).get(0);
+
+        assertEquals(last.getId(), summary.getLastBooking().getId());
+        assertEquals(next.getId(), summary.getNextBooking().getId());
+        assertEquals(next.getStart(), summary.getRefreshAt());
+    }
+
+    @Test
+    void testGetOwnerSummariesRecomputesStaleRows() {
+        persistBooking(now.plus(2, ChronoUnit.DAYS), now.plus(3, ChronoUnit.DAYS));
+        itemSummaryService.refresh(List.of(item.getId()));
+        Booking earlier = persistBooking(now.plus(1, ChronoUnit.DAYS), now.plus(2, ChronoUnit.DAYS));
+        em.find(ItemSummary.class, item.getId()).setRefreshAt(now.minus(1, ChronoUnit.SECONDS));
+        em.flush();
+
+        ItemSummary summary = itemSummaryService.getOwnerSummaries(owner.getId()).get(0);
+
+        assertEquals(earlier.getId(), summary.getNextBooking().getId());
+        assertEquals(earlier.getStart(), summary.getRefreshAt());
+    }
+
+    @Test
+    void testAddCommentCreatesMissingSummary() {
+        em.persist(Comment.builder()
+                .text("comment")
+                .item(item)
+                .author(booker)
+                .created(now)
+                .build());
+
+        itemSummaryService.addComment(item.getId());
+        itemSummaryService.addComment(item.getId());
+        em.clear();
+        ItemSummary summary = itemSummaryService.getOwnerSummaries(owner.getId()).get(0);
+
+        assertEquals(2, summary.getCommentCount());
+        assertNull(summary.getRefreshAt());
+    }
+
+    private Booking persistBooking(Instant start, Instant end) {
+        return em.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(Status.APPROVED)
+                .build());
+    }
+}
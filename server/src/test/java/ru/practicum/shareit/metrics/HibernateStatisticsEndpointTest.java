@@ -0,0 +1,66 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "shareit.hibernate-statistics.enabled=true")
+@Import(HibernateStatisticsEndpoint.class)
+class HibernateStatisticsEndpointTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HibernateStatisticsEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint.clear();
+    }
+
+    @Test
+    void testReportsQueriesAndEntityCounts() {
+        em.persist(User.builder().name("user").email("user@email.com").build());
+        em.flush();
+        em.clear();
+
+        userRepository.findAllByIdGreaterThanOrderByIdAsc(0L, OffsetPageRequest.of(0, 10));
+        userRepository.findAllByIdGreaterThanOrderByIdAsc(0L, OffsetPageRequest.of(0, 10));
+
+        HibernateStatisticsEndpoint.HibernateStatisticsDescriptor statistics = endpoint.statistics();
+
+        assertTrue(statistics.isEnabled());
+        assertEquals(2, statistics.getQueryExecutions());
+        HibernateStatisticsEndpoint.QueryDescriptor query = statistics.getQueries().get(0);
+        assertTrue(query.getQuery().contains("User"));
+        assertEquals(2, query.getExecutions());
+        assertEquals(2, query.getRows());
+        HibernateStatisticsEndpoint.EntityDescriptor user = statistics.getEntities().stream()
+                .filter(entity -> entity.getEntity().equals(User.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, user.getInserts());
+        assertTrue(statistics.getCacheRegions().stream().anyMatch(region -> region.getRegion().equals("users")));
+    }
+
+    @Test
+    void testClearResetsCounts() {
+        userRepository.findAllByIdGreaterThanOrderByIdAsc(0L, OffsetPageRequest.of(0, 10));
+
+        endpoint.clear();
+
+        assertEquals(0, endpoint.statistics().getQueryExecutions());
+        assertTrue(endpoint.statistics().getQueries().isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MethodTimingAspectTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @SneakyThrows
+    void testServiceAndRepositoryCallsAreTimed() {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"timed\",\"email\":\"timed@metrics.test\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, meterRegistry.get(MethodTimingAspect.SERVICE_TIMER)
+                .tags("class", "UserServiceImpl", "method", "create", "state", "none", "exception", "none")
+                .timer().count());
+        assertTrue(meterRegistry.get(MethodTimingAspect.REPOSITORY_TIMER)
+                .tags("repository", "UserRepository", "method", "save")
+                .timer().count() >= 1);
+    }
+
+    @Test
+    @SneakyThrows
+    void testBookingQueriesAreTaggedWithStateAndException() {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 999)
+                        .param("state", "PAST"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1, meterRegistry.get(MethodTimingAspect.SERVICE_TIMER)
+                .tags("class", "BookingServiceImpl", "method", "getUserBookings", "state", "PAST",
+                        "exception", "NotFoundException")
+                .timer().count());
+    }
+
+    @Test
+    @SneakyThrows
+    void testQueriesAreCountedPerRequest() {
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk());
+
+        double queries = meterRegistry.get(QueryCountFilter.QUERY_COUNT)
+                .tags("method", "GET", "uri", "/users")
+                .summary().totalAmount();
+        assertTrue(queries >= 1);
+    }
+
+    @Test
+    @SneakyThrows
+    void testUserResolutionsAreCountedPerRequest() {
+        double exists = userResolutions("exists");
+        double entity = userResolutions("entity");
+
+        mockMvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", 999))
+                .andExpect(status().isNotFound());
+
+        assertEquals(exists + 1, userResolutions("exists"));
+        assertEquals(entity, userResolutions("entity"));
+    }
+
+    private double userResolutions(String mode) {
+        DistributionSummary summary = meterRegistry.find(QueryCountFilter.USER_RESOLUTIONS)
+                .tags("method", "GET", "uri", "/requests", "mode", mode)
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
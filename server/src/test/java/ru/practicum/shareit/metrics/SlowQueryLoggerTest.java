@@ -0,0 +1,55 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlowQueryLoggerTest {
+
+    @Test
+    @SneakyThrows
+    void testParameterShapesHideValues() {
+        List<ParameterSetOperation> parameters = List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{2, "secret@email.com"}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                        new Object[]{1, 42L}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                        new Object[]{4, Types.BIGINT}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setObject", int.class, Object.class),
+                        new Object[]{3, new Timestamp(0)}));
+
+        assertEquals("[Long, String, Timestamp, null]", SlowQueryLogger.parameterShapes(List.of(parameters)));
+    }
+
+    @Test
+    void testCountsOnlyStatementsAboveThreshold() {
+        SlowQueryLogger logger = new SlowQueryLogger(true, Duration.ofMillis(100), 0.0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        logger.bindTo(registry);
+        List<QueryInfo> queries = List.of(new QueryInfo("select * from bookings where booker_id = ?"));
+
+        logger.afterQuery(executionTaking(99), queries);
+        logger.afterQuery(executionTaking(100), queries);
+        logger.afterQuery(executionTaking(250), queries);
+
+        assertEquals(2, registry.get("shareit.db.slow.queries").functionCounter().count());
+    }
+
+    private static ExecutionInfo executionTaking(long millis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(millis);
+        return executionInfo;
+    }
+}
@@ -10,17 +10,24 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
@@ -124,6 +131,60 @@ class ItemRequestControllerTest {
 
     }
 
+    @SneakyThrows
+    @Test
+    void returnAllAfterCursorSetsNextCursorForFullPage() {
+        Long userId = requester.getId();
+        PageCursor cursor = PageCursor.of(Instant.parse("2030-01-01T12:00:00Z"), 7L);
+
+        when(itemRequestService.getAllRequests(userId, cursor, 1))
+                .thenReturn(List.of(itemRequestDto));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "1")
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        PageCursor.of(ItemRequestMapper.toCursorPosition(itemRequestDto.getCreated()),
+                                itemRequestDto.getId()).encode()));
+    }
+
+    @SneakyThrows
+    @Test
+    void returnAllSinceUsesLaterOfSinceAndCursor() {
+        Long userId = requester.getId();
+        LocalDateTime since = LocalDateTime.of(2030, 1, 2, 12, 0);
+        PageCursor olderCursor = PageCursor.of(Instant.parse("2030-01-01T12:00:00Z"), 7L);
+        PageCursor sinceCursor = PageCursor.since(ItemRequestMapper.toCursorPosition(since));
+
+        when(itemRequestService.getAllRequests(userId, sinceCursor, 10))
+                .thenReturn(List.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("cursor", olderCursor.encode())
+                        .param("since", since.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+
+        verify(itemRequestService)
+                .getAllRequests(userId, sinceCursor, 10);
+    }
+
+    @SneakyThrows
+    @Test
+    void returnAllWithIdOnlyCursor() {
+        mockMvc.perform(MockMvcRequestBuilders.get("/requests/all")
+                        .header("X-Sharer-User-Id", requester.getId())
+                        .param("cursor", PageCursor.of(3L).encode())
+                        .param("since", "2030-01-02T12:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemRequestService, never())
+                .getAllRequests(anyLong(), any(PageCursor.class), anyInt());
+    }
+
     @SneakyThrows
     @Test
     void get() {
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.request.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class ItemRequestRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    private User viewer;
+    private final List<Long> requestIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        viewer = persistUser("viewer");
+        User requester = persistUser("requester");
+        for (int i = 0; i < 5; i++) {
+            requestIds.add(em.persist(ItemRequest.builder()
+                    .description("request " + i)
+                    .requester(requester)
+                    .build()).getId());
+        }
+        em.persist(ItemRequest.builder()
+                .description("own request")
+                .requester(viewer)
+                .build());
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void testOffsetPagingSkipsRowsNotPages() {
+        List<ItemRequest> page = itemRequestRepository
+                .findAllByRequesterIdNotOrderByCreatedAscIdAsc(viewer.getId(), OffsetPageRequest.of(3, 2));
+
+        assertEquals(requestIds.subList(3, 5), ids(page));
+    }
+
+    @Test
+    void testCursorPagingVisitsEveryRequestOnce() {
+        List<ItemRequest> firstPage = itemRequestRepository
+                .findAllByRequesterIdNotOrderByCreatedAscIdAsc(viewer.getId(), OffsetPageRequest.of(0, 2));
+        ItemRequest last = firstPage.get(firstPage.size() - 1);
+
+        List<ItemRequest> rest = itemRequestRepository.findOthersAfterCursor(viewer.getId(),
+                last.getCreated(), last.getId(), PageRequest.of(0, 10));
+
+        List<Long> visited = new ArrayList<>(ids(firstPage));
+        visited.addAll(ids(rest));
+        assertEquals(requestIds, visited);
+    }
+
+    @Test
+    void testCursorAfterLatestRequestReturnsNothing() {
+        List<ItemRequest> result = itemRequestRepository.findOthersAfterCursor(viewer.getId(),
+                LocalDateTime.now().plusMinutes(1), Long.MAX_VALUE, PageRequest.of(0, 10));
+
+        assertEquals(List.of(), result);
+    }
+
+    private User persistUser(String name) {
+        return em.persist(User.builder()
+                .name(name)
+                .email(name + "@email.com")
+                .build());
+    }
+
+    private List<Long> ids(List<ItemRequest> requests) {
+        return requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+    }
+}
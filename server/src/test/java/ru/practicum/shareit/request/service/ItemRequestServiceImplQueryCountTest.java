@@ -0,0 +1,91 @@
+package ru.practicum.shareit.request.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserResolutionCounter;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemRequestServiceImpl.class, UserServiceImpl.class, UserResolutionCounter.class})
+class ItemRequestServiceImplQueryCountTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    private Statistics statistics;
+    private int userCounter;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetAllRequestsIssuesConstantNumberOfStatementsPerPage() {
+        User viewer = createUser();
+        for (int i = 0; i < 20; i++) {
+            createRequestWithItems(2);
+        }
+        em.flush();
+
+        long smallPageStatements = countStatements(viewer.getId(), 1);
+        long bigPageStatements = countStatements(viewer.getId(), 20);
+
+        assertEquals(smallPageStatements, bigPageStatements);
+    }
+
+    private long countStatements(Long userId, int size) {
+        em.clear();
+        statistics.clear();
+
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(userId, 0, size);
+
+        assertEquals(size, requests.size());
+        for (ItemRequestDto request : requests) {
+            assertEquals(2, request.getItems().size());
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createRequestWithItems(int itemCount) {
+        ItemRequest request = em.persist(ItemRequest.builder()
+                .description("request")
+                .requester(createUser())
+                .build());
+        for (int i = 0; i < itemCount; i++) {
+            em.persist(Item.builder()
+                    .name("item")
+                    .description("description")
+                    .available(true)
+                    .owner(createUser())
+                    .itemRequest(request)
+                    .build());
+        }
+    }
+
+    private User createUser() {
+        userCounter++;
+        return em.persist(User.builder()
+                .name("user" + userCounter)
+                .email("user" + userCounter + "@email.com")
+                .build());
+    }
+}
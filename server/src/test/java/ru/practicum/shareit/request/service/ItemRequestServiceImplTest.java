@@ -7,12 +7,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
@@ -27,6 +29,7 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -95,17 +98,18 @@ class ItemRequestServiceImplTest {
 
     @Test
     void testGetAllByUserId() {
-        when(userServiceImpl.getUserOrElseThrow(owner.getId()))
-                .thenReturn(owner);
+        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(owner, itemRequestDto);
         when(itemRequestRepository.findItemRequestByRequesterId(owner.getId()))
-                .thenReturn(List.of(ItemRequestMapper.toItemRequest(owner, itemRequestDto)));
-        when(itemRepository.findByItemRequestId(itemRequestDto.getId()))
-                .thenReturn(List.of(ItemMapper.toItem(itemDto)));
+                .thenReturn(List.of(itemRequest));
+        when(itemRepository.findByItemRequestIdIn(List.of(itemRequestDto.getId())))
+                .thenReturn(List.of(itemWithRequest(itemRequest)));
 
         List<ItemRequestDto> result = itemRequestService.getAllByUserId(owner.getId());
 
         Assertions.assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getItems().size());
+        verify(userServiceImpl).checkUserExists(owner.getId());
     }
 
     @Test
@@ -114,12 +118,11 @@ class ItemRequestServiceImplTest {
         int from = 0;
         int size = 20;
 
-        when(userServiceImpl.getUserOrElseThrow(userId))
-                .thenReturn(requester);
-        when(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedAsc(userId, PageRequest.of(from, size)))
-                .thenReturn(List.of(ItemRequestMapper.toItemRequest(requester, itemRequestDto)));
-        when(itemRepository.findByItemRequestId(itemRequestDto.getId()))
-                .thenReturn(List.of(ItemMapper.toItem(itemDto)));
+        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(requester, itemRequestDto);
+        when(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedAscIdAsc(userId, OffsetPageRequest.of(from, size)))
+                .thenReturn(List.of(itemRequest));
+        when(itemRepository.findByItemRequestIdIn(List.of(itemRequestDto.getId())))
+                .thenReturn(List.of(itemWithRequest(itemRequest)));
 
         List<ItemRequestDto> actualRequestsDto = itemRequestService.getAllRequests(userId, from, size);
 
@@ -128,8 +131,6 @@ class ItemRequestServiceImplTest {
 
     @Test
     void testGetItemRequestById() {
-        when(userServiceImpl.getUserOrElseThrow(owner.getId()))
-                .thenReturn(owner);
         when(itemRequestRepository.findById(requester.getId()))
                 .thenReturn(Optional.ofNullable(ItemRequestMapper.toItemRequest(requester, itemRequestDto)));
         when(itemRepository.findByItemRequestId(itemRequestDto.getId()))
@@ -141,6 +142,13 @@ class ItemRequestServiceImplTest {
         assertThat(returnedDto.getId(), equalTo(itemRequestDto.getId()));
         verify(itemRequestRepository)
                 .findById(itemRequestDto.getId());
+        verify(itemRepository, times(1))
+                .findByItemRequestId(itemRequestDto.getId());
+    }
 
+    private Item itemWithRequest(ItemRequest itemRequest) {
+        Item item = ItemMapper.toItem(itemDto);
+        item.setItemRequest(itemRequest);
+        return item;
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.tracing;
+
+import brave.Span;
+import brave.handler.MutableSpan;
+import brave.test.TestSpanHandler;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TracingTest {
+
+    private static final String TRACE_ID = "463ac35c9f6413ad48485a3953bb6124";
+    private static final String GATEWAY_SPAN_ID = "a2fb4a1d1a96d312";
+
+    @TestConfiguration
+    static class InMemorySpans {
+        @Bean
+        TestSpanHandler testSpanHandler() {
+            return new TestSpanHandler();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestSpanHandler spans;
+
+    @BeforeEach
+    void clearSpans() {
+        spans.clear();
+    }
+
+    @Test
+    @SneakyThrows
+    void testGatewayTraceContinuesThroughServiceAndJdbc() {
+        mockMvc.perform(post("/users")
+                        .header("b3", TRACE_ID + "-" + GATEWAY_SPAN_ID + "-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"traced\",\"email\":\"traced@tracing.test\"}"))
+                .andExpect(status().isOk());
+
+        assertTrue(spans.spans().stream().allMatch(span -> TRACE_ID.equals(span.traceId())));
+        MutableSpan server = spanOfKind(Span.Kind.SERVER);
+        MutableSpan service = spanNamed("UserServiceImpl.create");
+        MutableSpan jdbc = spanOfKind(Span.Kind.CLIENT);
+        assertEquals(GATEWAY_SPAN_ID, server.id());
+        assertEquals(server.id(), service.parentId());
+        assertEquals(service.id(), jdbc.parentId());
+        assertTrue(jdbc.tag("jdbc.query").startsWith("insert into users"));
+    }
+
+    @Test
+    @SneakyThrows
+    void testServiceSpanRecordsStateAndError() {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 999)
+                        .param("state", "PAST"))
+                .andExpect(status().isNotFound());
+
+        MutableSpan service = spanNamed("BookingServiceImpl.getUserBookings");
+        assertEquals("PAST", service.tag("state"));
+        assertNotNull(service.error());
+    }
+
+    private MutableSpan spanOfKind(Span.Kind kind) {
+        return spans.spans().stream()
+                .filter(span -> span.kind() == kind)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + kind + " span in " + spans.spans()));
+    }
+
+    private MutableSpan spanNamed(String name) {
+        return spans.spans().stream()
+                .filter(span -> name.equals(span.name()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in " + spans.spans()));
+    }
+}
@@ -9,16 +9,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -74,11 +79,12 @@ public class UserControllerTest {
         List<UserDto> userDtoList = List.of(UserDto.builder()
                 .email("@yandex.ru")
                 .build());
-        when(userService.getAll())
+        when(userService.getAll(0, 10))
                 .thenReturn(userDtoList);
 
         String contentAsString = mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
@@ -87,6 +93,62 @@ public class UserControllerTest {
 
     }
 
+    @SneakyThrows
+    @Test
+    void testGetUsersByCursorReturnsNextCursorForFullPage() {
+        List<UserDto> userDtoList = List.of(UserDto.builder()
+                .id(7L)
+                .email("kate@yandex.ru")
+                .build());
+        when(userService.getAll(PageCursor.of(3L), 1))
+                .thenReturn(userDtoList);
+
+        mockMvc.perform(get("/users")
+                        .param("cursor", PageCursor.of(3L).encode())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(7L).encode()));
+    }
+
+    @SneakyThrows
+    @Test
+    void testGetUsersWithInvalidCursor() {
+        mockMvc.perform(get("/users")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+
+    @SneakyThrows
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamUsersWritesNdjson() {
+        UserDto first = UserDto.builder().id(1L).name("Kate").build();
+        UserDto second = UserDto.builder().id(2L).name("Sofia").build();
+
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(userService).streamAll(any(Consumer.class));
+
+        MvcResult asyncResult = mockMvc.perform(get("/users/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String contentAsString = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(first) + "\n"
+                + objectMapper.writeValueAsString(second) + "\n", contentAsString);
+    }
+
 
     @SneakyThrows
     @Test
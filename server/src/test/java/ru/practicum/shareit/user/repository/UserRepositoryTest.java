@@ -0,0 +1,64 @@
+package ru.practicum.shareit.user.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private UserRepository userRepository;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            ids.add(em.persist(User.builder()
+                    .name("user" + i)
+                    .email("user" + i + "@email.com")
+                    .build()).getId());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void testFindAllByIdGreaterThanWalksPagesInIdOrder() {
+        List<User> firstPage = userRepository.findAllByIdGreaterThanOrderByIdAsc(0L, OffsetPageRequest.of(0, 2));
+        List<User> secondPage = userRepository.findAllByIdGreaterThanOrderByIdAsc(
+                firstPage.get(1).getId(), OffsetPageRequest.of(0, 2));
+
+        assertEquals(ids.subList(0, 2), ids(firstPage));
+        assertEquals(ids.subList(2, 4), ids(secondPage));
+    }
+
+    @Test
+    void testStreamAllReturnsEveryUserInIdOrder() {
+        List<User> users;
+        try (Stream<User> stream = userRepository.streamAll()) {
+            users = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(ids, ids(users));
+    }
+
+    private List<Long> ids(List<User> users) {
+        return users.stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+    }
+}
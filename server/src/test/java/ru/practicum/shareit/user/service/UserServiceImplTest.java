@@ -5,16 +5,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -27,6 +36,12 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private UserResolutionCounter resolutionCounter;
+
     @InjectMocks
     private UserServiceImpl userServiceimpl;
 
@@ -97,16 +112,45 @@ class UserServiceImplTest {
                 .map(UserMapper::toUserDto)
                 .collect(Collectors.toList());
 
-        when(userRepository.findAll())
-                .thenReturn(expectedUsers);
+        when(userRepository.findAll(OffsetPageRequest.of(0, 10, Sort.by("id"))))
+                .thenReturn(new PageImpl<>(expectedUsers));
 
-        List<UserDto> actualUsersDto = userServiceimpl.getAll();
+        List<UserDto> actualUsersDto = userServiceimpl.getAll(0, 10);
 
 
         assertEquals(1, actualUsersDto.size());
         assertEquals(expectedUserDto, actualUsersDto);
     }
 
+    @Test
+    void testGetAllUsersAfterCursor() {
+        when(userRepository.findAllByIdGreaterThanOrderByIdAsc(5L, OffsetPageRequest.of(0, 10)))
+                .thenReturn(List.of(expectedUser));
+
+        List<UserDto> actualUsersDto = userServiceimpl.getAll(PageCursor.of(5L), 10);
+
+        assertEquals(List.of(UserMapper.toUserDto(expectedUser)), actualUsersDto);
+    }
+
+    @Test
+    void testStreamAllMapsAndDetachesEachUser() {
+        User secondUser = User.builder()
+                .id(2L)
+                .name("Sofia")
+                .email("sofia@yandex.ru")
+                .build();
+        List<UserDto> result = new ArrayList<>();
+
+        when(userRepository.streamAll())
+                .thenReturn(Stream.of(expectedUser, secondUser));
+
+        userServiceimpl.streamAll(result::add);
+
+        assertEquals(List.of(UserMapper.toUserDto(expectedUser), UserMapper.toUserDto(secondUser)), result);
+        verify(entityManager).detach(expectedUser);
+        verify(entityManager).detach(secondUser);
+    }
+
     @Test
     void testGetUserById() {
         when(userRepository.findById(expectedUser.getId()))
@@ -125,4 +169,37 @@ class UserServiceImplTest {
         verify(userRepository, times(1))
                 .deleteById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCheckUserExistsDoesNotLoadUser() {
+        when(userRepository.existsById(expectedUser.getId()))
+                .thenReturn(true);
+
+        userServiceimpl.checkUserExists(expectedUser.getId());
+
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testCheckUserExistsThrowsForUnknownUser() {
+        when(userRepository.existsById(expectedUser.getId()))
+                .thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> userServiceimpl.checkUserExists(expectedUser.getId()));
+    }
+
+    @Test
+    void testResolutionsAreCountedByMode() {
+        resolutionCounter.start();
+        when(userRepository.existsById(expectedUser.getId()))
+                .thenReturn(true);
+        when(userRepository.findById(expectedUser.getId()))
+                .thenReturn(Optional.of(expectedUser));
+
+        userServiceimpl.checkUserExists(expectedUser.getId());
+        userServiceimpl.checkUserExists(expectedUser.getId());
+        userServiceimpl.getUserOrElseThrow(expectedUser.getId());
+
+        assertEquals(Map.of("entity", 1, "exists", 2), resolutionCounter.stop());
+    }
+}